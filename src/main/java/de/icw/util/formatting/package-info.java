@@ -45,6 +45,13 @@
  * </code>
  *
  * </pre>
+ * <p>
+ * Templates using
+ * {@link de.icw.util.formatting.template.lexer.Lexer.ExpressionLanguage#STEL} support alternatives,
+ * default values and nested groups in addition, e.g.
+ * {@code "{[street] [flat?:corpus]}, {[postalCode] [city]}, [country?:'unknown']"}. A group is
+ * omitted together with its separators if none of its members has a value.
+ * </p>
  *
  */
 package de.icw.util.formatting;
@@ -0,0 +1,194 @@
+package de.icw.util.formatting.template;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.google.common.collect.ImmutableList;
+
+import de.icw.util.formatting.template.lexer.LexerBuilder;
+import de.icw.util.reflect.MoreReflection;
+
+/**
+ * <p>
+ * Adapts an arbitrary bean to {@link FormatterSupport}, so it needs not to implement the interface
+ * itself. The supported property names are the ones of the access methods of the bean type, see
+ * {@link MoreReflection#retrieveAccessMethods(Class)}, sorted by name.
+ * </p>
+ * <p>
+ * The access methods are determined once per bean type and compiled to {@link MethodHandle}s, each
+ * one assigned to a slot: The index of its property within
+ * {@link #getSupportedPropertyNames()}. Being an {@link IndexedFormatterSupport} the values are
+ * read directly by {@link #valueAt(int)}, so formatting creates no map per bean.
+ * {@link #getAvailablePropertyValues()} is still available for other consumers, it creates the
+ * map on each call.
+ * </p>
+ * <h3>Using</h3>
+ *
+ * <pre>
+ * <code>
+ * TemplateFormatter&lt;BeanFormatterSupport&lt;Address&gt;&gt; formatter =
+ *     BeanFormatterSupport.createFormatter("[street], [city]", Address.class);
+ * String formatted = formatter.format(BeanFormatterSupport.of(Address.class, address));
+ * </code>
+ * </pre>
+ *
+ * @param <B> the bean type
+ * @author Eugen Fischer
+ */
+public final class BeanFormatterSupport<B> implements IndexedFormatterSupport {
+
+    private static final ClassValue<Accessors> ACCESSORS = new ClassValue<Accessors>() {
+
+        @Override
+        protected Accessors computeValue(final Class<?> type) {
+            return new Accessors(type);
+        }
+    };
+
+    private final Accessors accessors;
+
+    private final B bean;
+
+    private BeanFormatterSupport(final Accessors accessors, final B bean) {
+        this.accessors = accessors;
+        this.bean = bean;
+    }
+
+    /**
+     * @param bean to be adapted, must not be null. Its runtime type defines the supported
+     *            properties.
+     * @return the adapter for the given bean
+     */
+    @SuppressWarnings("unchecked") // The runtime type of a B is a Class<? extends B>
+    public static <B> BeanFormatterSupport<B> of(final B bean) {
+        checkNotNull(bean, "Bean must not be null");
+        return of((Class<B>) bean.getClass(), bean);
+    }
+
+    /**
+     * Variant of {@link #of(Object)} for beans that may be subtypes of the type a formatter was
+     * created for, see {@link #createFormatter(String, Class)}.
+     *
+     * @param beanType defines the supported properties, must not be null
+     * @param bean to be adapted, must not be null
+     * @return the adapter for the given bean
+     */
+    public static <B> BeanFormatterSupport<B> of(final Class<B> beanType, final B bean) {
+        checkNotNull(beanType, "BeanType must not be null");
+        checkNotNull(bean, "Bean must not be null");
+        return new BeanFormatterSupport<>(ACCESSORS.get(beanType), bean);
+    }
+
+    /**
+     * @param template must not be null
+     * @param beanType must not be null
+     * @return a formatter using the simple expression language with squared brackets for beans of
+     *         the given type
+     */
+    public static <B> TemplateFormatter<BeanFormatterSupport<B>> createFormatter(final String template,
+            final Class<B> beanType) {
+        checkNotNull(beanType, "BeanType must not be null");
+        return TemplateFormatterImpl.createFormatter(template,
+                new BeanFormatterSupport<B>(ACCESSORS.get(beanType), null));
+    }
+
+    /**
+     * Variant of {@link #createFormatter(String, Class)} for templates formatted at high volume, see
+     * {@link TemplateCompiler}. The formatter is not cached.
+     *
+     * @param template must not be null
+     * @param beanType must not be null
+     * @return the compiled formatter using the simple expression language with squared brackets for
+     *         beans of the given type
+     */
+    public static <B> TemplateFormatter<BeanFormatterSupport<B>> compileFormatter(final String template,
+            final Class<B> beanType) {
+        checkNotNull(beanType, "BeanType must not be null");
+        final BeanFormatterSupport<B> prototype = new BeanFormatterSupport<>(ACCESSORS.get(beanType), null);
+        return TemplateCompiler.compile(template, LexerBuilder.useSimpleElWithSquaredBrackets().build(prototype),
+                prototype.getSupportedPropertyNames());
+    }
+
+    @Override
+    public Object valueAt(final int index) {
+        checkNotNull(bean, "Prototype has no values");
+        return accessors.invoke(index, bean);
+    }
+
+    /**
+     * Values not being {@link Serializable} are represented by their String representation.
+     */
+    @Override
+    public Map<String, Serializable> getAvailablePropertyValues() {
+        final Map<String, Serializable> result = new HashMap<>();
+        for (int index = 0; index < accessors.names.size(); index++) {
+            final Object value = valueAt(index);
+            if (null != value) {
+                result.put(accessors.names.get(index),
+                        value instanceof Serializable ? (Serializable) value : value.toString());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<String> getSupportedPropertyNames() {
+        return accessors.names;
+    }
+
+    /**
+     * The access methods of one bean type compiled to {@link MethodHandle}s, indexed by slot.
+     */
+    private static final class Accessors {
+
+        private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+        private final List<String> names;
+
+        private final MethodHandle[] getters;
+
+        Accessors(final Class<?> type) {
+            final Map<String, Method> methods = new TreeMap<>();
+            for (final Method method : MoreReflection.retrieveAccessMethods(type)) {
+                methods.putIfAbsent(MoreReflection.computePropertyNameFromMethodName(method.getName()), method);
+            }
+            checkArgument(!methods.isEmpty(), "Type '%s' provides no access methods", type);
+            names = ImmutableList.copyOf(methods.keySet());
+            getters = new MethodHandle[names.size()];
+            int index = 0;
+            for (final Method method : methods.values()) {
+                getters[index++] = unreflect(method);
+            }
+        }
+
+        private static MethodHandle unreflect(final Method method) {
+            try {
+                // Public methods of non-public types, e.g. nested beans, are not accessible otherwise
+                method.setAccessible(true);
+                return MethodHandles.lookup().unreflect(method).asType(GETTER_TYPE);
+            } catch (final IllegalAccessException | RuntimeException e) {
+                throw new IllegalStateException("Unable to access '" + method + "'", e);
+            }
+        }
+
+        Object invoke(final int index, final Object bean) {
+            try {
+                return getters[index].invokeExact(bean);
+            } catch (final RuntimeException | Error e) {
+                throw e;
+            } catch (final Throwable e) {
+                throw new IllegalStateException("Unable to read property '" + names.get(index) + "'", e);
+            }
+        }
+    }
+}
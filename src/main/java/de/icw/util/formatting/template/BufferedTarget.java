@@ -0,0 +1,55 @@
+package de.icw.util.formatting.template;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Copies the content of a reused buffer to an {@link Appendable}, used by
+ * {@link TemplateFormatter#formatTo(Iterable, Appendable)} and
+ * {@link TemplateFormatter#format(FormatterSupport, Appendable)}. {@link Writer#append(CharSequence)}
+ * creates a String of the given sequence, therefore the content is copied for a {@link Writer} into
+ * a reused char array written by {@link Writer#write(char[], int, int)}. The array grows to the
+ * largest content copied, so the memory needed does not depend on the number of copies.
+ * <p>
+ * Instances are not thread-safe.
+ * </p>
+ *
+ * @author Eugen Fischer
+ */
+final class BufferedTarget {
+
+    private static final int INITIAL_SIZE = 256;
+
+    private final Appendable target;
+
+    /** The target if it is a {@link Writer}, null otherwise */
+    private final Writer writer;
+
+    private char[] chars;
+
+    /**
+     * @param target must not be null
+     */
+    BufferedTarget(final Appendable target) {
+        this.target = target;
+        this.writer = target instanceof Writer ? (Writer) target : null;
+    }
+
+    /**
+     * @param buffer whose content is appended to the target, must not be null
+     *
+     * @throws IOException if writing to the target fails
+     */
+    void copy(final StringBuilder buffer) throws IOException {
+        if (null == writer) {
+            target.append(buffer);
+            return;
+        }
+        final int length = buffer.length();
+        if (null == chars || chars.length < length) {
+            chars = new char[Math.max(length, null == chars ? INITIAL_SIZE : chars.length * 2)];
+        }
+        buffer.getChars(0, length, chars, 0);
+        writer.write(chars, 0, length);
+    }
+}
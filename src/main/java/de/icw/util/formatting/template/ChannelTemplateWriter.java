@@ -0,0 +1,200 @@
+package de.icw.util.formatting.template;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ * Writes the references formatted by a {@link TemplateFormatter}, separated by a line-feed as
+ * {@link TemplateFormatter#formatTo(Iterable, Appendable)} does, encoded to a
+ * {@link WritableByteChannel}. The formatted text of a reference is written into a reused buffer
+ * and encoded by a reused {@link CharsetEncoder} into a direct {@link ByteBuffer}, which is written
+ * to the channel whenever it is full. Therefore the memory needed is constant, independent of the
+ * number of references, and no String or byte array is created per reference.
+ * </p>
+ * <p>
+ * Malformed or unmappable characters are replaced by the replacement of the charset, as
+ * {@link String#getBytes(Charset)} does. An {@link OutputStream} can be used by means of
+ * {@link Channels#newChannel(OutputStream)}. For a {@link Writer} use
+ * {@link TemplateFormatter#formatTo(Stream, Appendable)} directly, which copies a reused buffer into
+ * the writer, so its memory needed is constant as well. Both rely on
+ * {@link TemplateFormatter#format(FormatterSupport, StringBuilder)} appending without an
+ * intermediate String, as {@link TemplateFormatterImpl} and the formatters created by
+ * {@link TemplateCompiler} do.
+ * </p>
+ * <p>
+ * Instances are not thread-safe.
+ * </p>
+ *
+ * @param <T> bounded type based on {@link FormatterSupport}
+ * @author Eugen Fischer
+ */
+public final class ChannelTemplateWriter<T extends FormatterSupport> implements Flushable, Closeable {
+
+    /** The default size of the byte buffer */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final TemplateFormatter<T> formatter;
+
+    private final WritableByteChannel channel;
+
+    private final CharsetEncoder encoder;
+
+    private final ByteBuffer bytes;
+
+    private final StringBuilder record = new StringBuilder();
+
+    private boolean first = true;
+
+    private boolean closed;
+
+    /**
+     * @param formatter must not be null
+     * @param channel to be written to, must not be null
+     * @param charset used for encoding, must not be null
+     */
+    public ChannelTemplateWriter(final TemplateFormatter<T> formatter, final WritableByteChannel channel,
+            final Charset charset) {
+        this(formatter, channel, charset, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param formatter must not be null
+     * @param channel to be written to, must not be null
+     * @param charset used for encoding, must not be null
+     * @param bufferSize size of the byte buffer, must be at least the maximum number of bytes per
+     *            character of the charset
+     */
+    public ChannelTemplateWriter(final TemplateFormatter<T> formatter, final WritableByteChannel channel,
+            final Charset charset, final int bufferSize) {
+        this.formatter = checkNotNull(formatter, "Formatter must not be null");
+        this.channel = checkNotNull(channel, "Channel must not be null");
+        this.encoder = checkNotNull(charset, "Charset must not be null").newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        checkArgument(bufferSize >= Math.ceil(encoder.maxBytesPerChar()),
+                "BufferSize %s is too small for %s", bufferSize, charset);
+        this.bytes = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * Formats the reference and encodes it, the bytes are written to the channel as soon as the
+     * buffer is full, at the latest on {@link #flush()}.
+     *
+     * @param reference must not be {@code null}
+     *
+     * @throws IOException if writing to the channel fails
+     * @throws NullPointerException if reference is missing
+     */
+    public void write(final T reference) throws IOException {
+        checkNotNull(reference, "Reference must not be null");
+        checkOpen();
+        record.setLength(0);
+        if (!first) {
+            record.append('\n');
+        }
+        formatter.format(reference, record);
+        first = false;
+        encode(CharBuffer.wrap(record), false);
+    }
+
+    /**
+     * @param references must not be {@code null} and must not contain {@code null}
+     *
+     * @throws IOException if writing to the channel fails
+     * @throws NullPointerException if references is or contains {@code null}
+     */
+    public void writeAll(final Iterable<T> references) throws IOException {
+        for (final T reference : references) {
+            write(reference);
+        }
+    }
+
+    /**
+     * Writes the references in encounter order, the stream is consumed sequentially.
+     *
+     * @param references must not be {@code null} and must not contain {@code null}
+     *
+     * @throws IOException if writing to the channel fails
+     * @throws NullPointerException if references is or contains {@code null}
+     */
+    public void writeAll(final Stream<T> references) throws IOException {
+        final Iterator<T> iterator = references.iterator();
+        while (iterator.hasNext()) {
+            write(iterator.next());
+        }
+    }
+
+    /**
+     * Writes the buffered bytes to the channel.
+     */
+    @Override
+    public void flush() throws IOException {
+        checkOpen();
+        drain();
+    }
+
+    /**
+     * Completes the encoding, writes the buffered bytes and closes the channel.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            encode(CharBuffer.allocate(0), true);
+            CoderResult result;
+            do {
+                result = encoder.flush(bytes);
+                drain();
+            } while (result.isOverflow());
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void encode(final CharBuffer chars, final boolean endOfInput) throws IOException {
+        while (true) {
+            final CoderResult result = encoder.encode(chars, bytes, endOfInput);
+            if (result.isOverflow()) {
+                drain();
+            } else if (result.isUnderflow()) {
+                return;
+            } else {
+                result.throwException();
+            }
+        }
+    }
+
+    private void drain() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Writer is closed");
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package de.icw.util.formatting.template;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+
+import de.icw.util.formatting.template.token.GroupToken;
+import de.icw.util.formatting.template.token.Token;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Execution plan of a scanned template. The tokens are evaluated as the members of a root
+ * {@link GroupToken}, so a template and a group share the same rules: a
+ * {@link Token#isStringToken() string token} is only written
+ * if the token before has a value and at least one of the following action tokens has a value.
+ * The values of an {@link IndexedFormatterSupport} are read by index, the number of available
+ * values is determined once per execution. Whether the supported property names of the reference
+ * are the ones the indexes were resolved for is checked once per execution as well, references with
+ * other names are formatted by reading their values by name.
+ *
+ * @author Eugen Fischer
+ */
+@ToString
+@EqualsAndHashCode
+final class CompiledTemplate implements Serializable {
+
+    private static final long serialVersionUID = 2617497733215958839L;
+
+    private final GroupToken root;
+
+    private final int sizeHint;
+
+    /** The supported property names the indexes of the tokens refer to, null if unknown */
+    private final List<String> names;
+
+    /** The last list of names found to be equal to {@link #names}, saving the comparison */
+    private transient volatile List<String> verifiedNames;
+
+    /**
+     * @param tokens the result of scanning the template, must not be null
+     * @param sizeHint the expected length of a formatted template, usually the length of the
+     *            template itself
+     */
+    CompiledTemplate(final List<Token> tokens, final int sizeHint) {
+        this(tokens, sizeHint, null);
+    }
+
+    /**
+     * @param tokens the result of scanning the template, must not be null
+     * @param sizeHint the expected length of a formatted template, usually the length of the
+     *            template itself
+     * @param names the supported property names the lexer resolved the indexes of the tokens for,
+     *            null if values are to be read by name only
+     */
+    CompiledTemplate(final List<Token> tokens, final int sizeHint, final List<String> names) {
+        checkArgument(sizeHint >= 0, "SizeHint must not be negative");
+        this.root = new GroupToken(checkNotNull(tokens, "Tokens must not be null"));
+        this.sizeHint = sizeHint;
+        this.names = null == names ? null : ImmutableList.copyOf(names);
+    }
+
+    /**
+     * @param reference must not be null
+     *
+     * @return the formatted template
+     */
+    String execute(final FormatterSupport reference) {
+        return appendTo(reference, createBuffer()).toString();
+    }
+
+    /**
+     * @return an empty buffer sized for a formatted template
+     */
+    StringBuilder createBuffer() {
+        return new StringBuilder(sizeHint);
+    }
+
+    /**
+     * @param reference must not be null
+     * @param buffer to append the formatted template to, must not be null
+     *
+     * @return the given buffer
+     */
+    StringBuilder appendTo(final FormatterSupport reference, final StringBuilder buffer) {
+        if (reference instanceof IndexedFormatterSupport && hasResolvedNames(reference)) {
+            final IndexedFormatterSupport indexed = (IndexedFormatterSupport) reference;
+            root.appendTo(indexed, indexed.getAvailableCount(), buffer);
+        } else {
+            root.appendTo(reference, buffer);
+        }
+        return buffer;
+    }
+
+    private boolean hasResolvedNames(final FormatterSupport reference) {
+        if (null == names) {
+            return false;
+        }
+        final List<String> current = reference.getSupportedPropertyNames();
+        if (current == verifiedNames) {
+            return true;
+        }
+        if (!names.equals(current)) {
+            return false;
+        }
+        verifiedNames = current;
+        return true;
+    }
+}
@@ -0,0 +1,117 @@
+package de.icw.util.formatting.template;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+
+import de.icw.util.formatting.template.lexer.Lexer;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Formatter created by {@link TemplateCompiler}, running the chain of method handles compiled for
+ * the template. References with other supported property names than the ones the template was
+ * compiled for are formatted by the interpreter. Only the template, the lexer and the names are
+ * serialized, the template is compiled again on deserialization.
+ *
+ * @param <F> bounded type based on {@link IndexedFormatterSupport}
+ * @author Eugen Fischer
+ */
+@ToString(of = { "template", "lexer" })
+@EqualsAndHashCode(of = { "template", "lexer" })
+final class GeneratedTemplateFormatter<F extends IndexedFormatterSupport> implements TemplateFormatter<F> {
+
+    private static final long serialVersionUID = -1238437950484236618L;
+
+    private final String template;
+
+    private final Lexer<F> lexer;
+
+    /** The supported property names the template was compiled for */
+    private final List<String> names;
+
+    /** Type {@link TemplateCompiler#CHAIN_TYPE} */
+    private final transient MethodHandle chain;
+
+    /** False if none of the tokens has text before or after its value */
+    private final transient boolean needsAvailableCount;
+
+    /** Formats references with other supported property names */
+    private final transient CompiledTemplate interpreter;
+
+    /** The last list of names found to be equal to {@link #names}, saving the comparison */
+    private transient volatile List<String> verifiedNames;
+
+    GeneratedTemplateFormatter(final String template, final Lexer<F> lexer, final List<String> names,
+            final MethodHandle chain, final boolean needsAvailableCount, final CompiledTemplate interpreter) {
+        this.template = template;
+        this.lexer = lexer;
+        this.names = ImmutableList.copyOf(names);
+        this.chain = chain;
+        this.needsAvailableCount = needsAvailableCount;
+        this.interpreter = interpreter;
+        this.verifiedNames = names;
+    }
+
+    @Override
+    public String format(final F reference) {
+        checkNotNull(reference, "Reference must not be null");
+        return appendTo(reference, interpreter.createBuffer()).toString();
+    }
+
+    @Override
+    public void format(final F reference, final StringBuilder target) {
+        checkNotNull(reference, "Reference must not be null");
+        checkNotNull(target, "Target must not be null");
+        appendTo(reference, target);
+    }
+
+    @Override
+    public void format(final F reference, final Appendable target) throws IOException {
+        checkNotNull(target, "Target must not be null");
+        if (target instanceof StringBuilder) {
+            format(reference, (StringBuilder) target);
+        } else {
+            checkNotNull(reference, "Reference must not be null");
+            new BufferedTarget(target).copy(appendTo(reference, interpreter.createBuffer()));
+        }
+    }
+
+    private StringBuilder appendTo(final F reference, final StringBuilder buffer) {
+        if (!hasCompiledNames(reference)) {
+            return interpreter.appendTo(reference, buffer);
+        }
+        final int availableCount = needsAvailableCount ? reference.getAvailableCount() : 0;
+        final int state;
+        try {
+            state = (int) chain.invokeExact(~buffer.length(), (IndexedFormatterSupport) reference, availableCount,
+                    buffer);
+        } catch (final RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable e) {
+            throw new IllegalStateException("Unable to format '" + reference + "'", e);
+        }
+        buffer.setLength(TemplateCompiler.confirmedLength(state));
+        return buffer;
+    }
+
+    private boolean hasCompiledNames(final F reference) {
+        final List<String> current = reference.getSupportedPropertyNames();
+        if (current == verifiedNames) {
+            return true;
+        }
+        if (!names.equals(current)) {
+            return false;
+        }
+        verifiedNames = current;
+        return true;
+    }
+
+    private Object readResolve() {
+        return TemplateCompiler.compile(template, lexer, names);
+    }
+}
@@ -0,0 +1,35 @@
+package de.icw.util.formatting.template;
+
+/**
+ * Optional extension of {@link FormatterSupport} for types that are able to provide their values
+ * by index. The lexer resolves each attribute of a template to its index within
+ * {@link #getSupportedPropertyNames()} once, on formatting {@link TemplateFormatterImpl} reads the
+ * values by {@link #valueAt(int)} instead of calling {@link #getAvailablePropertyValues()}. Therefore
+ * the order of {@link #getSupportedPropertyNames()} must be the same for all instances of a type.
+ *
+ * @author Eugen Fischer
+ */
+public interface IndexedFormatterSupport extends FormatterSupport {
+
+    /**
+     * @param index of the property within {@link #getSupportedPropertyNames()}
+     * @return the value of the property, {@code null} if the property has no value
+     * @throws IndexOutOfBoundsException if there is no property with the given index
+     */
+    Object valueAt(int index);
+
+    /**
+     * @return the number of properties with a value, needed once per formatting. The default
+     *         implementation calls {@link #valueAt(int)} for each property.
+     */
+    default int getAvailableCount() {
+        int count = 0;
+        final int size = getSupportedPropertyNames().size();
+        for (int index = 0; index < size; index++) {
+            if (null != valueAt(index)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,238 @@
+package de.icw.util.formatting.template;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.Optional;
+
+import de.icw.util.formatting.template.lexer.Lexer;
+import de.icw.util.formatting.template.lexer.Lexer.ExpressionLanguage;
+import de.icw.util.formatting.template.lexer.LexerBuilder;
+import de.icw.util.formatting.template.token.ActionToken;
+import de.icw.util.formatting.template.token.StringToken;
+import de.icw.util.formatting.template.token.Token;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * <p>
+ * Optional compiler for templates formatted at high volume by an {@link IndexedFormatterSupport}
+ * type, e.g. {@link BeanFormatterSupport#compileFormatter(String, Class)}. The template is
+ * compiled into a chain of {@link MethodHandle}s with one link per token: A value is read by
+ * {@link IndexedFormatterSupport#valueAt(int)} with the index resolved by the lexer and appended by
+ * {@link ActionToken#appendValue(Object, int, StringBuilder)}, a literal is appended directly.
+ * Whether a literal is written depends on the token before it only, so this is decided on
+ * compilation unless the token before is a value. Formatting runs the chain once, there is neither
+ * a loop over the tokens nor a dispatch on their type.
+ * </p>
+ * <p>
+ * Only the properties referenced by the template are read.
+ * {@link IndexedFormatterSupport#getAvailableCount()} is called once per formatting if a token has
+ * text before or after its value, as the interpreter does. A reference whose supported property
+ * names differ from the ones the template was compiled for is formatted by the interpreter.
+ * </p>
+ * <p>
+ * If the expression language creates tokens other than {@link ActionToken} and
+ * {@link StringToken}, e.g. groups of {@link ExpressionLanguage#STEL}, the usual
+ * {@link TemplateFormatterImpl} is returned. Compiled formatters are not shared by means of
+ * {@link TemplateFormatterCache}, callers are expected to keep them, e.g. in a constant.
+ * </p>
+ *
+ * @author Eugen Fischer
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class TemplateCompiler {
+
+    /**
+     * Type of the chain and of each link. The state passed along is the length of the target up to
+     * the last value written, its complement if the last value token had no value.
+     */
+    static final MethodType CHAIN_TYPE =
+        MethodType.methodType(int.class, int.class, IndexedFormatterSupport.class, int.class, StringBuilder.class);
+
+    private static final MethodHandle VALUE_AT = findVirtual(IndexedFormatterSupport.class, "valueAt",
+            MethodType.methodType(Object.class, int.class));
+
+    private static final MethodHandle APPEND_VALUE = findStatic("appendValue", MethodType.methodType(int.class,
+            ActionToken.class, int.class, Object.class, int.class, StringBuilder.class));
+
+    private static final MethodHandle APPEND_LITERAL = findStatic("appendLiteral",
+            MethodType.methodType(int.class, String.class, int.class, StringBuilder.class));
+
+    private static final MethodHandle APPEND_LITERAL_AFTER_VALUE = findStatic("appendLiteralAfterValue",
+            MethodType.methodType(int.class, String.class, int.class, StringBuilder.class));
+
+    /**
+     * @param template must not be null
+     * @param sourceType must not be null, must provide a default constructor
+     *
+     * @return the compiled formatter for the simple expression language with squared brackets
+     */
+    public static <F extends IndexedFormatterSupport> TemplateFormatter<F> compile(final String template,
+            final Class<F> sourceType) {
+        return compile(template, sourceType, ExpressionLanguage.SIMPLE_SQUARED_BRACKTES);
+    }
+
+    /**
+     * @param template must not be null
+     * @param sourceType must not be null, must provide a default constructor
+     * @param expressionLanguage must not be null
+     *
+     * @return the compiled formatter, the {@link TemplateFormatterImpl} if the template can not be
+     *         compiled
+     * @throws IllegalArgumentException if the template is not valid for the expression language
+     * @throws IllegalStateException if the source type can not be instantiated
+     */
+    public static <F extends IndexedFormatterSupport> TemplateFormatter<F> compile(final String template,
+            final Class<F> sourceType, final ExpressionLanguage expressionLanguage) {
+        checkNotNull(template, "Template must not be null");
+        checkNotNull(sourceType, "SourceType must not be null");
+        checkNotNull(expressionLanguage, "ExpressionLanguage must not be null");
+        final F source = newInstance(sourceType);
+        return compile(template, LexerBuilder.withExpressionLanguage(expressionLanguage).build(source),
+                source.getSupportedPropertyNames());
+    }
+
+    /**
+     * @param template must not be null
+     * @param lexer must not be null
+     * @param names the supported property names of the source the lexer was built for, must not be
+     *            null
+     *
+     * @return the compiled formatter, the {@link TemplateFormatterImpl} if the template can not be
+     *         compiled
+     */
+    static <F extends IndexedFormatterSupport> TemplateFormatter<F> compile(final String template,
+            final Lexer<F> lexer, final List<String> names) {
+        checkNotNull(template, "Template must not be null");
+        checkNotNull(lexer, "Lexer must not be null");
+        checkNotNull(names, "Names must not be null");
+        final List<Token> tokens = lexer.scan(template);
+        final Optional<MethodHandle> chain = createChain(tokens);
+        if (!chain.isPresent()) {
+            return TemplateFormatterImpl.createFormatter(template, lexer);
+        }
+        return new GeneratedTemplateFormatter<>(template, lexer, names, chain.get(), needsAvailableCount(tokens),
+                new CompiledTemplate(tokens, template.length(), names));
+    }
+
+    private static <F extends FormatterSupport> F newInstance(final Class<F> sourceType) {
+        try {
+            return sourceType.newInstance();
+        } catch (final InstantiationException e) {
+            throw new IllegalStateException("Class '" + sourceType + "' should provide a default constructor.", e);
+        } catch (final IllegalAccessException e) {
+            throw new IllegalStateException("Class '" + sourceType + "' should be public.", e);
+        }
+    }
+
+    /**
+     * @return a handle of type {@link #CHAIN_TYPE} running one link per token in order,
+     *         {@link Optional#empty()} if a token can not be compiled
+     */
+    static Optional<MethodHandle> createChain(final List<Token> tokens) {
+        MethodHandle chain = MethodHandles.dropArguments(MethodHandles.identity(int.class), 1,
+                CHAIN_TYPE.parameterList().subList(1, CHAIN_TYPE.parameterCount()));
+        Token previous = null;
+        for (final Token token : tokens) {
+            final MethodHandle link;
+            if (token instanceof StringToken) {
+                link = createLiteralLink(((StringToken) token).getValue(), previous);
+            } else if (token instanceof ActionToken && ((ActionToken) token).getIndex() >= 0) {
+                link = createValueLink((ActionToken) token);
+            } else {
+                return Optional.empty();
+            }
+            if (null != link) {
+                // link(chain(state, content, availableCount, target), content, availableCount, target)
+                chain = MethodHandles.foldArguments(MethodHandles.dropArguments(link, 1, int.class), chain);
+            }
+            previous = token;
+        }
+        return Optional.of(chain);
+    }
+
+    /**
+     * A literal is written if the token before has a value: Always for a non empty literal before,
+     * never at the start of the template and depending on the state for a value before.
+     *
+     * @return the link, null if the literal is never written
+     */
+    private static MethodHandle createLiteralLink(final String literal, final Token previous) {
+        final MethodHandle append;
+        if (literal.isEmpty() || null == previous) {
+            return null;
+        } else if (previous instanceof StringToken) {
+            if (((StringToken) previous).getValue().isEmpty()) {
+                return null;
+            }
+            append = APPEND_LITERAL;
+        } else {
+            append = APPEND_LITERAL_AFTER_VALUE;
+        }
+        return MethodHandles.dropArguments(MethodHandles.insertArguments(append, 0, literal), 1,
+                IndexedFormatterSupport.class, int.class);
+    }
+
+    private static MethodHandle createValueLink(final ActionToken token) {
+        return MethodHandles.filterArguments(MethodHandles.insertArguments(APPEND_VALUE, 0, token), 1,
+                MethodHandles.insertArguments(VALUE_AT, 1, token.getIndex()));
+    }
+
+    private static boolean needsAvailableCount(final List<Token> tokens) {
+        for (final Token token : tokens) {
+            if (token instanceof ActionToken) {
+                final ActionToken action = (ActionToken) token;
+                if (!action.getBefore().isEmpty() || !action.getAfter().isEmpty()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the length of the target up to the last value written
+     */
+    static int confirmedLength(final int state) {
+        return state >= 0 ? state : ~state;
+    }
+
+    private static int appendValue(final ActionToken token, final int state, final Object value,
+            final int availableCount, final StringBuilder target) {
+        final int start = target.length();
+        token.appendValue(value, availableCount, target);
+        return target.length() > start ? target.length() : ~confirmedLength(state);
+    }
+
+    private static int appendLiteral(final String literal, final int state, final StringBuilder target) {
+        target.append(literal);
+        return state;
+    }
+
+    private static int appendLiteralAfterValue(final String literal, final int state, final StringBuilder target) {
+        if (state >= 0) {
+            target.append(literal);
+        }
+        return state;
+    }
+
+    private static MethodHandle findStatic(final String name, final MethodType type) {
+        try {
+            return MethodHandles.lookup().findStatic(TemplateCompiler.class, name, type);
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to find '" + name + "'", e);
+        }
+    }
+
+    private static MethodHandle findVirtual(final Class<?> type, final String name, final MethodType methodType) {
+        try {
+            return MethodHandles.lookup().findVirtual(type, name, methodType);
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to find '" + name + "'", e);
+        }
+    }
+}
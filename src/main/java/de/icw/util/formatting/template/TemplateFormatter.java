@@ -1,6 +1,12 @@
 package de.icw.util.formatting.template;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * The formatter should be able to convert complex type based on {@link FormatterSupport} into text by using a defined template.
@@ -23,4 +29,129 @@ public interface TemplateFormatter<T extends FormatterSupport> extends Serializa
      */
     String format(final T reference);
 
+    /**
+     * Appends the result of {@link #format(FormatterSupport)} to the given target.
+     *
+     * @param reference must not be {@code null}
+     * @param target to append to, must not be {@code null}
+     *
+     * @throws NullPointerException if reference or target is missing
+     */
+    default void format(final T reference, final StringBuilder target) {
+        target.append(format(reference));
+    }
+
+    /**
+     * Appends the result of {@link #format(FormatterSupport)} to the given target. Other targets
+     * than a {@link StringBuilder} are written by means of a buffer filled by
+     * {@link #format(FormatterSupport, StringBuilder)}, for a {@link java.io.Writer} without
+     * creating a String.
+     *
+     * @param reference must not be {@code null}
+     * @param target to append to, must not be {@code null}
+     *
+     * @throws IOException if writing to the target fails
+     * @throws NullPointerException if reference or target is missing
+     */
+    default void format(final T reference, final Appendable target) throws IOException {
+        if (target instanceof StringBuilder) {
+            format(reference, (StringBuilder) target);
+        } else {
+            final StringBuilder buffer = new StringBuilder();
+            format(reference, buffer);
+            new BufferedTarget(target).copy(buffer);
+        }
+    }
+
+    /**
+     * Formats all given references sequentially.
+     *
+     * @param references must not be {@code null} and must not contain {@code null}
+     *
+     * @return the formatted texts in the order of the references
+     * @throws NullPointerException if references is or contains {@code null}
+     */
+    default List<String> formatAll(final Iterable<T> references) {
+        final List<String> result = new ArrayList<>();
+        for (final T reference : references) {
+            result.add(format(reference));
+        }
+        return result;
+    }
+
+    /**
+     * Formats all references of the given stream. For a parallel stream the formatting is split
+     * across the common {@link ForkJoinPool}, the result keeps the encounter order anyway.
+     *
+     * @param references must not be {@code null} and must not contain {@code null}
+     *
+     * @return the formatted texts in the encounter order of the references
+     * @throws NullPointerException if references is or contains {@code null}
+     */
+    default List<String> formatAll(final Stream<T> references) {
+        return references.map(this::format).collect(Collectors.toList());
+    }
+
+    /**
+     * Formats all given references in parallel, using the given {@link ForkJoinPool}.
+     *
+     * @param references must not be {@code null} and must not contain {@code null}
+     * @param pool to run the formatting in, must not be {@code null}
+     *
+     * @return the formatted texts in the order of the references
+     * @throws NullPointerException if references is or contains {@code null}
+     */
+    default List<String> formatAll(final List<T> references, final ForkJoinPool pool) {
+        return pool.submit(() -> formatAll(references.parallelStream())).join();
+    }
+
+    /**
+     * Writes all given references, separated by a line-feed, to the given target. Each reference
+     * is formatted by {@link #format(FormatterSupport, StringBuilder)} into a single reused buffer
+     * which is copied to the target, for a {@link java.io.Writer} without creating a String. A
+     * {@link StringBuilder} target is written to directly.
+     *
+     * @param references must not be {@code null} and must not contain {@code null}
+     * @param target to be written to, must not be {@code null}
+     *
+     * @throws IOException if writing to the target fails
+     * @throws NullPointerException if references is or contains {@code null}
+     */
+    default void formatTo(final Iterable<T> references, final Appendable target) throws IOException {
+        final StringBuilder buffer = target instanceof StringBuilder ? (StringBuilder) target : new StringBuilder();
+        final BufferedTarget copier = new BufferedTarget(target);
+        boolean first = true;
+        for (final T reference : references) {
+            if (buffer != target) {
+                buffer.setLength(0);
+            }
+            if (!first) {
+                buffer.append('\n');
+            }
+            format(reference, buffer);
+            if (buffer != target) {
+                copier.copy(buffer);
+            }
+            first = false;
+        }
+    }
+
+    /**
+     * Writes all references of the given stream in encounter order, separated by a line-feed, to
+     * the given target. The stream is consumed sequentially by
+     * {@link #formatTo(Iterable, Appendable)}, so for a {@link java.io.Writer} target the memory
+     * needed does not depend on the number of references, as long as
+     * {@link #format(FormatterSupport, StringBuilder)} appends without an intermediate String.
+     *
+     * @param references must not be {@code null} and must not contain {@code null}
+     * @param target to be written to, must not be {@code null}
+     *
+     * @throws IOException if writing to the target fails
+     * @throws NullPointerException if references is or contains {@code null}
+     */
+    default void formatTo(final Stream<T> references, final Appendable target) throws IOException {
+        final Iterable<T> iterable = references::iterator;
+        formatTo(iterable, target);
+    }
+
 }
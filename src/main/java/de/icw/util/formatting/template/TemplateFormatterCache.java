@@ -0,0 +1,290 @@
+package de.icw.util.formatting.template;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.Serializable;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import de.icw.util.formatting.template.lexer.Lexer.ExpressionLanguage;
+import lombok.Value;
+
+/**
+ * <p>
+ * Bounded cache of {@link TemplateFormatter}s keyed by template, {@link FormatterSupport} type and
+ * {@link ExpressionLanguage}. The formatters are immutable, therefore a single instance is shared
+ * by all callers. {@link TemplateFormatterImpl#createFormatter(String, Class)} and its siblings
+ * taking a type use the {@link #global()} cache, so repeated calls neither instantiate the type nor
+ * scan the template again.
+ * </p>
+ * <p>
+ * If the maximum size is exceeded the least recently used formatter is evicted. The maximum size
+ * of the global cache is {@value #DEFAULT_MAXIMUM_SIZE}, it can be changed by the system property
+ * {@value #MAXIMUM_SIZE_PROPERTY}.
+ * </p>
+ * <p>
+ * The formatters of a type are kept in a map attached to the type by a {@link ClassValue}, the
+ * cache itself references these maps weakly only. A formatter references its type, so a strong
+ * reference would keep the {@link ClassLoader} of the type, e.g. of a redeployed web application,
+ * from being collected. Once a type is collected its formatters are dropped without counting as
+ * evictions.
+ * </p>
+ * <p>
+ * Lookups of cached formatters take no lock. The recency is approximate: a logical clock advances
+ * on every insertion only, and a hit stamps the formatter with the current clock value, so hits
+ * between two insertions are not ordered among each other. A hot formatter writes its stamp once
+ * per insertion at most. Checking the size and evicting scan the cached formatters of all types under
+ * a lock taken by insertions only, so the costs of a miss grow with the maximum size.
+ * </p>
+ *
+ * @author Eugen Fischer
+ */
+public final class TemplateFormatterCache {
+
+    /** The default maximum number of cached formatters */
+    public static final int DEFAULT_MAXIMUM_SIZE = 256;
+
+    /** Name of the system property defining the maximum size of the global cache */
+    public static final String MAXIMUM_SIZE_PROPERTY = "de.icw.util.formatting.template.cacheSize";
+
+    private static final TemplateFormatterCache GLOBAL =
+        new TemplateFormatterCache(Integer.getInteger(MAXIMUM_SIZE_PROPERTY, DEFAULT_MAXIMUM_SIZE));
+
+    private final int maximumSize;
+
+    /** The formatters per type, only reachable through the type */
+    private final ClassValue<ConcurrentMap<Key, CachedFormatter>> formatters =
+        new ClassValue<ConcurrentMap<Key, CachedFormatter>>() {
+
+            @Override
+            protected ConcurrentMap<Key, CachedFormatter> computeValue(final Class<?> type) {
+                final ConcurrentMap<Key, CachedFormatter> created = new ConcurrentHashMap<>();
+                synchronized (evictionLock) {
+                    typeFormatters.add(new WeakReference<>(created));
+                }
+                return created;
+            }
+        };
+
+    /** The maps of {@link #formatters} created so far, guarded by {@link #evictionLock} */
+    private final List<WeakReference<ConcurrentMap<Key, CachedFormatter>>> typeFormatters = new ArrayList<>();
+
+    /** Advanced on every insertion, see {@link CachedFormatter#lastAccess} */
+    private final AtomicLong clock = new AtomicLong();
+
+    /** Serializes evictions and guards {@link #typeFormatters}, never taken by hits */
+    private final Object evictionLock = new Object();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maximumSize must not be negative, 0 disables caching
+     */
+    TemplateFormatterCache(final int maximumSize) {
+        checkArgument(maximumSize >= 0, "Maximum size must not be negative: %s", maximumSize);
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * @return the cache used by {@link TemplateFormatterImpl}
+     */
+    public static TemplateFormatterCache global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Returns the cached formatter or the one created by the given factory. The factory is called
+     * without holding a lock, so concurrent misses on the same key may create several formatters,
+     * only the first one is cached and returned to all callers. Failures of the factory are not
+     * cached.
+     *
+     * @param template may be null
+     * @param sourceType must not be null
+     * @param expressionLanguage must not be null
+     * @param factory creating the formatter in case of a miss, must not be null
+     * @return the shared formatter
+     */
+    @SuppressWarnings("unchecked") // Type safety is ensured by the key
+    <F extends FormatterSupport> TemplateFormatter<F> get(final String template, final Class<F> sourceType,
+            final ExpressionLanguage expressionLanguage, final Supplier<TemplateFormatter<F>> factory) {
+        checkNotNull(sourceType, "SourceType must not be null");
+        final Key key = new Key(template, checkNotNull(expressionLanguage, "ExpressionLanguage must not be null"));
+        final ConcurrentMap<Key, CachedFormatter> typeMap = formatters.get(sourceType);
+        final CachedFormatter cached = typeMap.get(key);
+        if (null != cached) {
+            hits.increment();
+            cached.touch(clock.get());
+            return (TemplateFormatter<F>) cached.formatter;
+        }
+        misses.increment();
+        final TemplateFormatter<F> created = checkNotNull(factory.get(), "Factory must not return null");
+        if (0 == maximumSize) {
+            return created;
+        }
+        final CachedFormatter inserted = new CachedFormatter(created, clock.getAndIncrement());
+        final CachedFormatter existing = typeMap.putIfAbsent(key, inserted);
+        if (null != existing) {
+            return (TemplateFormatter<F>) existing.formatter;
+        }
+        evict(inserted);
+        return created;
+    }
+
+    /**
+     * Removes the formatters with the oldest stamp until the maximum size is met.
+     *
+     * @param inserted the formatter just inserted, never evicted
+     */
+    private void evict(final CachedFormatter inserted) {
+        synchronized (evictionLock) {
+            final List<ConcurrentMap<Key, CachedFormatter>> typeMaps = liveTypeFormatters();
+            int size = size(typeMaps);
+            while (size > maximumSize) {
+                ConcurrentMap<Key, CachedFormatter> eldestMap = null;
+                Map.Entry<Key, CachedFormatter> eldest = null;
+                for (final ConcurrentMap<Key, CachedFormatter> typeMap : typeMaps) {
+                    for (final Map.Entry<Key, CachedFormatter> candidate : typeMap.entrySet()) {
+                        if (inserted != candidate.getValue() && (null == eldest
+                                || candidate.getValue().lastAccess < eldest.getValue().lastAccess)) {
+                            eldestMap = typeMap;
+                            eldest = candidate;
+                        }
+                    }
+                }
+                if (null == eldest) {
+                    return;
+                }
+                if (eldestMap.remove(eldest.getKey(), eldest.getValue())) {
+                    evictions.increment();
+                }
+                size = size(typeMaps);
+            }
+        }
+    }
+
+    /**
+     * Drops the references to maps of collected types, must be called holding
+     * {@link #evictionLock}.
+     *
+     * @return the maps of the types not collected yet
+     */
+    private List<ConcurrentMap<Key, CachedFormatter>> liveTypeFormatters() {
+        final List<ConcurrentMap<Key, CachedFormatter>> result = new ArrayList<>(typeFormatters.size());
+        for (final Iterator<WeakReference<ConcurrentMap<Key, CachedFormatter>>> iterator =
+            typeFormatters.iterator(); iterator.hasNext();) {
+            final ConcurrentMap<Key, CachedFormatter> typeMap = iterator.next().get();
+            if (null == typeMap) {
+                iterator.remove();
+            } else {
+                result.add(typeMap);
+            }
+        }
+        return result;
+    }
+
+    private static int size(final List<ConcurrentMap<Key, CachedFormatter>> typeMaps) {
+        int result = 0;
+        for (final ConcurrentMap<Key, CachedFormatter> typeMap : typeMaps) {
+            result += typeMap.size();
+        }
+        return result;
+    }
+
+    /**
+     * @return the current statistics of the cache
+     */
+    public Statistics getStatistics() {
+        final int size;
+        synchronized (evictionLock) {
+            size = size(liveTypeFormatters());
+        }
+        return new Statistics(hits.sum(), misses.sum(), evictions.sum(), size, maximumSize);
+    }
+
+    /**
+     * Removes all formatters, the statistics are kept.
+     */
+    public void clear() {
+        synchronized (evictionLock) {
+            for (final ConcurrentMap<Key, CachedFormatter> typeMap : liveTypeFormatters()) {
+                typeMap.clear();
+            }
+        }
+    }
+
+    private static final class CachedFormatter {
+
+        private final TemplateFormatter<?> formatter;
+
+        /** The value of the clock at the last access */
+        private volatile long lastAccess;
+
+        CachedFormatter(final TemplateFormatter<?> formatter, final long lastAccess) {
+            this.formatter = formatter;
+            this.lastAccess = lastAccess;
+        }
+
+        /**
+         * Writes the stamp only if it changed, so a hot formatter does not write on every hit
+         */
+        void touch(final long now) {
+            if (lastAccess != now) {
+                lastAccess = now;
+            }
+        }
+    }
+
+    /** Key within the formatters of a type */
+    @Value
+    private static class Key {
+
+        private final String template;
+
+        private final ExpressionLanguage expressionLanguage;
+    }
+
+    /**
+     * Snapshot of the statistics of a {@link TemplateFormatterCache}
+     */
+    @Value
+    public static class Statistics implements Serializable {
+
+        private static final long serialVersionUID = -3618337937461626581L;
+
+        /** Number of lookups returning a cached formatter */
+        private final long hitCount;
+
+        /** Number of lookups creating a new formatter */
+        private final long missCount;
+
+        /** Number of formatters evicted because of the maximum size */
+        private final long evictionCount;
+
+        /** Number of cached formatters */
+        private final int size;
+
+        /** Maximum number of cached formatters */
+        private final int maximumSize;
+
+        /**
+         * @return the ratio of hits to all lookups, 1.0 if there were no lookups
+         */
+        public double getHitRate() {
+            final long total = hitCount + missCount;
+            return 0 == total ? 1.0 : (double) hitCount / total;
+        }
+    }
+}
@@ -1,18 +1,15 @@
 package de.icw.util.formatting.template;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import static com.google.common.base.Preconditions.checkState;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.google.common.collect.Lists;
-
 import de.icw.util.formatting.template.lexer.Lexer;
+import de.icw.util.formatting.template.lexer.Lexer.ExpressionLanguage;
 import de.icw.util.formatting.template.lexer.LexerBuilder;
-import de.icw.util.formatting.template.token.Token;
 import lombok.EqualsAndHashCode;
-import lombok.Synchronized;
 import lombok.ToString;
 
 /**
@@ -31,25 +28,22 @@ public final class TemplateFormatterImpl<T extends FormatterSupport> implements
 
     private final String template;
 
-    private ArrayList<Token> parsedTokens;
+    private final Lexer<T> lexer;
 
-    private Lexer<T> lexer;
-
-    private TemplateFormatterImpl(final String template) {
-        this.template = template;
-    }
+    /** Immutable, therefore {@link #format(FormatterSupport)} needs no synchronization */
+    private final CompiledTemplate compiledTemplate;
 
     /**
-     * Lexer which should be used to scan the template
-     *
-     * @param lexerInstance must not be {@code null}
+     * The template is scanned eagerly.
      *
-     * @return reference to TemplateFormatter, fluent api style
+     * @param template to be scanned
+     * @param lexer which should be used to scan the template, must not be {@code null}
      */
-    TemplateFormatterImpl<T> scanBy(final Lexer<T> lexerInstance) {
-        this.lexer = checkNotNull(lexerInstance, "Parser must not be null");
-        this.parsedTokens = null;
-        return this;
+    private TemplateFormatterImpl(final String template, final Lexer<T> lexer) {
+        this.template = template;
+        this.lexer = checkNotNull(lexer, "Parser must not be null");
+        this.compiledTemplate = new CompiledTemplate(lexer.scan(template), null == template ? 0 : template.length(),
+                lexer.getSupportedPropertyNames());
     }
 
     /**
@@ -63,69 +57,47 @@ public final class TemplateFormatterImpl<T extends FormatterSupport> implements
      */
     @Override
     public String format(final T reference) {
-
         checkNotNull(reference, "Reference must not be null");
-
-        final List<Token> tokenList = getParsedTokens();
-
-        final StringBuilder buffer = new StringBuilder(0);
-
-        for (int index = 0; index < tokenList.size(); index++) {
-            final Token token = tokenList.get(index);
-            if (token.isStringToken()) {
-                if (lookUpLastTokenHasValue(tokenList, reference, index)
-                        && lookUpNextTokenHasValue(tokenList, reference, index)) {
-                    buffer.append(token.substituteAttribute(reference));
-                }
-            } else {
-                buffer.append(token.substituteAttribute(reference));
-            }
-        }
-
-        return buffer.toString();
+        return compiledTemplate.execute(reference);
     }
 
-    private boolean lookUpNextTokenHasValue(final List<Token> tokenList, final T reference,
-            final int currentTokenIndex) {
-
-        int nextTokenIndex = currentTokenIndex + 1;
-        while (nextTokenIndex < tokenList.size()) {
-            final Token token = tokenList.get(nextTokenIndex);
-            if (!token.isStringToken()) {
-                final String value = token.substituteAttribute(reference);
-                if (!value.isEmpty()) {
-                    return true;
-                }
-            }
-            nextTokenIndex++;
-        }
-        return false;
+    @Override
+    public void format(final T reference, final StringBuilder target) {
+        checkNotNull(reference, "Reference must not be null");
+        checkNotNull(target, "Target must not be null");
+        compiledTemplate.appendTo(reference, target);
     }
 
-    private boolean lookUpLastTokenHasValue(final List<Token> tokenList, final T reference,
-            final int currentTokenIndex) {
-
-        boolean result = false;
-        final int lastTokenIndex = currentTokenIndex - 1;
-        if (lastTokenIndex >= 0) {
-            final String value = tokenList.get(lastTokenIndex).substituteAttribute(reference);
-            result = !value.isEmpty();
+    @Override
+    public void format(final T reference, final Appendable target) throws IOException {
+        checkNotNull(target, "Target must not be null");
+        if (target instanceof StringBuilder) {
+            format(reference, (StringBuilder) target);
+        } else {
+            checkNotNull(reference, "Reference must not be null");
+            new BufferedTarget(target).copy(compiledTemplate.appendTo(reference, compiledTemplate.createBuffer()));
         }
-        return result;
     }
 
-    @Synchronized
-    private List<Token> getParsedTokens() {
-        if (null == this.parsedTokens) {
-            checkState(null != this.lexer, "Parser must be initialized before.");
-            this.parsedTokens = Lists.newArrayList(this.lexer.scan(this.template));
+    /**
+     * Reuses a single buffer for all references.
+     */
+    @Override
+    public List<String> formatAll(final Iterable<T> references) {
+        final List<String> result = new ArrayList<>();
+        final StringBuilder buffer = compiledTemplate.createBuffer();
+        for (final T reference : references) {
+            buffer.setLength(0);
+            result.add(compiledTemplate.appendTo(checkNotNull(reference, "Reference must not be null"), buffer)
+                    .toString());
         }
-        return this.parsedTokens;
+        return result;
     }
 
     /**
      * The created TemplateFormatter provide only usage of simple expression
-     * language with squared brackets.
+     * language with squared brackets. The formatter is shared by means of
+     * {@link TemplateFormatterCache#global()}.
      *
      * @param template must not be null
      * @param sourceType must not be null
@@ -139,6 +111,23 @@ public final class TemplateFormatterImpl<T extends FormatterSupport> implements
         return TemplateBuilder.useTemplate(template).forType(sourceType);
     }
 
+    /**
+     * The formatter is shared by means of {@link TemplateFormatterCache#global()}.
+     *
+     * @param template must not be null
+     * @param sourceType must not be null
+     * @param expressionLanguage must not be null
+     *
+     * @return TemplateFormatter which using template and lexer for the given
+     *         expression language
+     */
+    public static <F extends FormatterSupport> TemplateFormatter<F> createFormatter(
+            final String template,
+            final Class<F> sourceType,
+            final ExpressionLanguage expressionLanguage) {
+        return TemplateBuilder.useTemplate(template).forType(sourceType, expressionLanguage);
+    }
+
     /**
      * @param template must not be null
      * @param source must not be null
@@ -195,7 +184,7 @@ public final class TemplateFormatterImpl<T extends FormatterSupport> implements
             }
 
             public <F extends FormatterSupport> TemplateFormatter<F> scanBy(final Lexer<F> lexer) {
-                return new TemplateFormatterImpl<F>(template).scanBy(lexer);
+                return new TemplateFormatterImpl<F>(template, lexer);
             }
 
             public <F extends FormatterSupport> TemplateFormatter<F> forSource(final F source) {
@@ -205,9 +194,13 @@ public final class TemplateFormatterImpl<T extends FormatterSupport> implements
 
             public <F extends FormatterSupport> TemplateFormatter<F> forType(
                     final Class<F> classType) {
-                final Lexer<F> lexer =
-                    LexerBuilder.useSimpleElWithSquaredBrackets().build(classType);
-                return scanBy(lexer);
+                return forType(classType, ExpressionLanguage.SIMPLE_SQUARED_BRACKTES);
+            }
+
+            public <F extends FormatterSupport> TemplateFormatter<F> forType(
+                    final Class<F> classType, final ExpressionLanguage expressionLanguage) {
+                return TemplateFormatterCache.global().get(template, classType, expressionLanguage,
+                        () -> scanBy(LexerBuilder.withExpressionLanguage(expressionLanguage).build(classType)));
             }
         }
     }
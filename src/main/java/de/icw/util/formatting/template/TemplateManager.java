@@ -3,11 +3,21 @@ package de.icw.util.formatting.template;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.ImmutableMap;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 
 /**
+ * Selects the {@link TemplateFormatter} for a {@link Locale}. In case there is no formatter for the
+ * exact locale the fallback chain is walked like {@link ResourceBundle} does, e.g. de_AT -&gt; de,
+ * finally the default formatter is used. The resolution is done once per locale, the result is
+ * memoized, so subsequent calls need a single lookup.
+ *
  * @author Sven Haag
  * @param <T>
  *            This should any value, which extends FormatterSupport interface
@@ -16,20 +26,59 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public class TemplateManager<T extends FormatterSupport> {
 
+    /** Maximum number of memoized locales, protects against arbitrary locales of clients */
+    static final int MAX_RESOLVED_LOCALES = 256;
+
+    private static final ResourceBundle.Control FALLBACK_CONTROL =
+        ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_DEFAULT);
+
     private final TemplateFormatter<T> defaultFormatter;
 
+    /** Immutable, contains no null keys or values */
     private final Map<Locale, TemplateFormatter<T>> localeSpecificMap;
 
+    private final ConcurrentMap<Locale, TemplateFormatter<T>> resolvedFormatters = new ConcurrentHashMap<>();
+
     /**
      * @param targetToFormat
      * @param locale
      * @return This should format the template with the location information
      */
     public String format(final T targetToFormat, final Locale locale) {
-        if (localeSpecificMap.containsKey(locale)) {
-            return localeSpecificMap.get(locale).format(targetToFormat);
+        return resolveFormatter(locale).format(targetToFormat);
+    }
+
+    /**
+     * @param locale may be null, resulting in the default formatter
+     * @return the formatter for the given locale: The one of the locale itself, of the first locale
+     *         of its fallback chain having one, or the default formatter
+     */
+    public TemplateFormatter<T> resolveFormatter(final Locale locale) {
+        if (null == locale) {
+            return defaultFormatter;
         }
-        return defaultFormatter.format(targetToFormat);
+        final TemplateFormatter<T> resolved = resolvedFormatters.get(locale);
+        if (null != resolved) {
+            return resolved;
+        }
+        if (resolvedFormatters.size() >= MAX_RESOLVED_LOCALES) {
+            return lookup(locale);
+        }
+        final TemplateFormatter<T> formatter = lookup(locale);
+        if (null != formatter) {
+            resolvedFormatters.putIfAbsent(locale, formatter);
+        }
+        return formatter;
+    }
+
+    private TemplateFormatter<T> lookup(final Locale locale) {
+        for (final Locale candidate : FALLBACK_CONTROL.getCandidateLocales("", locale)) {
+            final TemplateFormatter<T> formatter = localeSpecificMap.get(candidate);
+            if (null != formatter) {
+                return formatter;
+            }
+        }
+        return defaultFormatter;
     }
 
     /**
@@ -84,10 +133,17 @@ public class TemplateManager<T extends FormatterSupport> {
         }
 
         /**
-         * @return This method builds the object with the given information.
+         * @return This method builds the object with the given information. Entries with a
+         *         {@code null} locale or formatter are ignored.
          */
         public TemplateManager<B> build() {
-            return new TemplateManager<>(defFormatter, map);
+            final ImmutableMap.Builder<Locale, TemplateFormatter<B>> builder = ImmutableMap.builder();
+            for (final Map.Entry<Locale, TemplateFormatter<B>> entry : map.entrySet()) {
+                if (null != entry.getKey() && null != entry.getValue()) {
+                    builder.put(entry);
+                }
+            }
+            return new TemplateManager<>(defFormatter, builder.build());
         }
 
     }
@@ -3,14 +3,28 @@ package de.icw.util.formatting.template;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import javax.xml.bind.ValidationException;
 
+import com.google.common.collect.ImmutableList;
+
 import de.icw.util.formatting.template.lexer.Lexer;
 import de.icw.util.formatting.template.lexer.LexerBuilder;
+import de.icw.util.formatting.template.lexer.TemplateSyntaxException;
 import lombok.NoArgsConstructor;
+import lombok.Value;
 
 /**
+ * Validates templates against the tokens supported by a {@link FormatterSupport} type. The lexer
+ * used by {@link #validateTemplate(String, Class)} and {@link #validateTemplates(Collection, Class)}
+ * is created once per type and shared, as lexers are immutable.
+ *
  * @author Oliver Wolff
  *
  * @param <F> at least {@link FormatterSupport}
@@ -19,6 +33,17 @@ public class Validator<F extends FormatterSupport> implements Serializable {
 
     private static final long serialVersionUID = 8358892211840118282L;
 
+    /** Lexers for the simple expression language with squared brackets by type */
+    private static final ClassValue<Lexer<?>> LEXERS = new ClassValue<Lexer<?>>() {
+
+        @Override
+        @SuppressWarnings("unchecked") // Only FormatterSupport types are requested
+        protected Lexer<?> computeValue(final Class<?> type) {
+            return LexerBuilder.useSimpleElWithSquaredBrackets()
+                    .build((Class<? extends FormatterSupport>) type);
+        }
+    };
+
     private final Lexer<F> lexer;
 
     Validator(final Lexer<F> lexer) {
@@ -35,6 +60,36 @@ public class Validator<F extends FormatterSupport> implements Serializable {
         this.lexer.validateTemplate(template);
     }
 
+    /**
+     * Validates all given templates in parallel. In contrast to {@link #validate(String)} no
+     * exception is thrown, all errors are collected instead.
+     *
+     * @param templates must not be null, {@code null} elements are reported as error
+     * @return the report listing the errors in the order of the templates
+     */
+    public Report validateAll(final Collection<String> templates) {
+        checkNotNull(templates, "Templates must not be null.");
+        final List<String> list = new ArrayList<>(templates);
+        final List<TemplateError> errors = IntStream.range(0, list.size()).parallel()
+                .mapToObj(index -> check(index, list.get(index))).filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new Report(list.size(), ImmutableList.copyOf(errors));
+    }
+
+    private TemplateError check(final int index, final String template) {
+        if (null == template) {
+            return new TemplateError(index, null, "Template must not be null.", -1);
+        }
+        try {
+            this.lexer.validateTemplate(template);
+            return null;
+        } catch (final TemplateSyntaxException e) {
+            return new TemplateError(index, template, e.getMessage(), e.getPosition());
+        } catch (final IllegalArgumentException e) {
+            return new TemplateError(index, template, e.getMessage(), -1);
+        }
+    }
+
     /**
      * @return an {@link ValidatorBuilder}
      */
@@ -70,6 +125,18 @@ public class Validator<F extends FormatterSupport> implements Serializable {
         new Validator.ValidatorBuilder<E>().forType(source).validate(template);
     }
 
+    /**
+     * Batch variant of {@link #validateTemplate(String, Class)}, see {@link #validateAll(Collection)}
+     *
+     * @param templates inputs which should be validated, must not be null
+     * @param source target type must not be null
+     * @return the report listing the errors in the order of the templates
+     */
+    public static <E extends FormatterSupport> Report validateTemplates(final Collection<String> templates,
+            final Class<E> source) {
+        return new Validator.ValidatorBuilder<E>().forType(source).validateAll(templates);
+    }
+
     /**
      * This method provide validation for template of specific expression
      * language. Therefore you need to provide a fitting Lexer.
@@ -107,8 +174,9 @@ public class Validator<F extends FormatterSupport> implements Serializable {
             return new Validator<>(this.lexer);
         }
 
+        @SuppressWarnings("unchecked") // The lexer is computed for the given type
         private Lexer<E> useSimpleElWithSquaredBrackets(final Class<E> source) {
-            return LexerBuilder.useSimpleElWithSquaredBrackets().build(source);
+            return (Lexer<E>) LEXERS.get(checkNotNull(source, "Source must not be null."));
         }
 
         private Lexer<E> useSimpleElWithSquaredBrackets(E source) {
@@ -116,4 +184,47 @@ public class Validator<F extends FormatterSupport> implements Serializable {
         }
 
     }
+
+    /**
+     * Result of {@link Validator#validateAll(Collection)}
+     */
+    @Value
+    public static class Report implements Serializable {
+
+        private static final long serialVersionUID = -2806419736931553817L;
+
+        /** Number of validated templates */
+        private final int templateCount;
+
+        /** The errors in the order of the templates, at most one per template */
+        private final List<TemplateError> errors;
+
+        /**
+         * @return true if none of the templates has an error
+         */
+        public boolean isValid() {
+            return errors.isEmpty();
+        }
+    }
+
+    /**
+     * Error of a single template within a {@link Report}
+     */
+    @Value
+    public static class TemplateError implements Serializable {
+
+        private static final long serialVersionUID = 4541094567390451797L;
+
+        /** Index of the template within the validated templates */
+        private final int index;
+
+        /** The template, null if it was missing */
+        private final String template;
+
+        /** Describes the error */
+        private final String message;
+
+        /** Position of the error within the template, -1 if unknown */
+        private final int position;
+    }
 }
@@ -1,15 +1,11 @@
 package de.icw.util.formatting.template.lexer;
 
-import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Strings.isNullOrEmpty;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import com.google.common.base.Splitter;
-import com.google.common.collect.Lists;
-
 import de.icw.util.formatting.template.FormatterSupport;
 import de.icw.util.formatting.template.token.ActionToken;
 import de.icw.util.formatting.template.token.StringToken;
@@ -71,114 +67,66 @@ class BracketLexer<T extends FormatterSupport> extends Lexer<T> {
         this.brackets = checkNotNull(brackets, "Brackets must not be null.");
     }
 
+    /**
+     * Scans the input in a single pass. The text within a pair of brackets is passed to an
+     * {@link ActionToken}, the attribute name is the longest supported property name contained
+     * within the brackets. Text outside of brackets results in
+     * {@link StringToken}s.
+     */
     @Override
     public List<Token> scan(final String input) {
         final List<Token> tokens = new ArrayList<>();
-
-        if (!isNullOrEmpty(input)) {
-
-            final List<String> chunksSplitByLeftBracket = splitByLeftBracket(input);
-            final List<String> chunksSplitByRightBracket = splitByRightBracket(input);
-
-            checkArgument(chunksSplitByLeftBracket.size() == chunksSplitByRightBracket.size(),
-                    "pattern '" + input + "' is unbalanced");
-
-            for (final String chunk : chunksSplitByRightBracket) {
-                if (!isNullOrEmpty(chunk)) {
-                    parseChunk(chunk, tokens);
-                }
-            }
-        }
-
-        return tokens;
-    }
-
-    private List<String> splitByLeftBracket(final String input) {
-        return Lists.newArrayList(Splitter.on(this.brackets.leftBracket).split(input));
-    }
-
-    private List<String> splitByRightBracket(final String input) {
-        return Lists.newArrayList(Splitter.on(this.brackets.rightBracket).split(input));
-    }
-
-    private void parseChunk(final String chunk, final List<Token> tokens) {
-        final String cleaned = disposeStringToken(chunk, tokens);
-        if (!isNullOrEmpty(cleaned)) {
-            boolean tokenRecognized = false;
-
-            final String token = getBestFittingToken(cleaned, getTokenList());
-            if (null != token) {
-                tokens.add(new ActionToken(cleaned, token));
-                tokenRecognized = true;
-            }
-            if (!tokenRecognized) {
-                throwUnsupportedTokenException(cleaned, getTokenList());
-            }
+        if (isNullOrEmpty(input)) {
+            return tokens;
         }
-    }
-
-    private String getBestFittingToken(final String cleanedChunk, final List<String> tokens) {
-        Candidate mostFittingCandidate = new Candidate(cleanedChunk, null);
-        for (final String token : tokens) {
-            if (!isNullOrEmpty(token) && cleanedChunk.contains(token)) {
-                final Candidate otherCandidate = new Candidate(cleanedChunk, token);
-                if (!mostFittingCandidate.fitsMoreThan(otherCandidate)) {
-                    mostFittingCandidate = otherCandidate;
+        int literalStart = 0;
+        int index = 0;
+        while (index < input.length()) {
+            final char current = input.charAt(index);
+            if (current == this.brackets.leftBracket) {
+                final int closing = findClosingBracket(input, index);
+                if (index > literalStart) {
+                    tokens.add(new StringToken(input.substring(literalStart, index)));
                 }
+                if (closing > index + 1) {
+                    tokens.add(createActionToken(input.substring(index + 1, closing), index + 1));
+                }
+                index = closing + 1;
+                literalStart = index;
+            } else {
+                checkTemplate(current != this.brackets.rightBracket, index,
+                        "pattern '%s' is unbalanced, closing bracket '%s' at position %s has no opening bracket",
+                        input, current, index);
+                index++;
             }
         }
-        return mostFittingCandidate.getTokenName();
-    }
-
-    private String disposeStringToken(final String chunk, final List<Token> tokens) {
-        int startPoint = chunk.indexOf(this.brackets.leftBracket);
-        if (startPoint > 0) {
-            // string token before was found
-            final String value = chunk.substring(0, startPoint);
-            tokens.add(new StringToken(value));
-        } else {
-            // last string token found
-            if (startPoint == -1) {
-                startPoint = chunk.length() - 1;
-                tokens.add(new StringToken(chunk));
-            }
+        if (literalStart < input.length()) {
+            tokens.add(new StringToken(input.substring(literalStart)));
         }
-        return chunk.substring(startPoint + 1);
+        return tokens;
     }
 
-    private class Candidate {
-
-        private static final int HUGE_NUMBER = 999999;
-
-        private final String tokenName;
-
-        private final int fittingIndex;
-
-        public String getTokenName() {
-            return this.tokenName;
-        }
-
-        public int getFittingIndex() {
-            return this.fittingIndex;
-        }
-
-        public Candidate(final String cleanedChunk, final String tokenName) {
-            if (null != tokenName) {
-                this.tokenName = tokenName;
-                int difference = cleanedChunk.compareTo(tokenName);
-                if (0 > difference) {
-                    difference = difference * -1;
-                }
-                this.fittingIndex = difference;
-            } else {
-                this.tokenName = null;
-                this.fittingIndex = HUGE_NUMBER;
+    private int findClosingBracket(final String input, final int opening) {
+        for (int index = opening + 1; index < input.length(); index++) {
+            final char current = input.charAt(index);
+            if (current == this.brackets.rightBracket) {
+                return index;
             }
+            checkTemplate(current != this.brackets.leftBracket, index,
+                    "pattern '%s' contains nested brackets, bracket '%s' at position %s is not closed before position %s",
+                    input, this.brackets.leftBracket, opening, index);
         }
+        throw new TemplateSyntaxException(String.format(
+                "pattern '%s' is unbalanced, bracket '%s' at position %s is not closed", input,
+                this.brackets.leftBracket, opening), opening);
+    }
 
-        public boolean fitsMoreThan(final Candidate otherCandidate) {
-            return this.fittingIndex < otherCandidate.getFittingIndex();
+    private ActionToken createActionToken(final String content, final int position) {
+        final int index = findLongestToken(content);
+        if (index < 0) {
+            throwUnsupportedTokenException(content, getTokenList(), position);
         }
+        return new ActionToken(content, getTokenList().get(index), index);
     }
 
 }
@@ -5,6 +5,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Strings.isNullOrEmpty;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.List;
 
 import com.google.common.collect.Lists;
@@ -20,14 +21,16 @@ import lombok.ToString;
  * @param <T> bounds lexer to one type to avoid cross using accidentally
  * @author Eugen Fischer
  */
-@ToString
-@EqualsAndHashCode
+@ToString(exclude = "tokenTrie")
+@EqualsAndHashCode(exclude = "tokenTrie")
 public abstract class Lexer<T extends FormatterSupport> implements Serializable {
 
     private static final long serialVersionUID = 8645233576605974741L;
 
     private final List<String> tokenList;
 
+    private final PropertyNameTrie tokenTrie;
+
     /**
      * Constructor of Lexer.</br>
      * Source provide information of "tokens" which he supports.
@@ -44,6 +47,7 @@ public abstract class Lexer<T extends FormatterSupport> implements Serializable
             checkArgument(!isNullOrEmpty(attribute), "Attributes must not be null or empty. '"
                     + this.tokenList.toString() + "'");
         }
+        this.tokenTrie = new PropertyNameTrie(this.tokenList);
     }
 
     /**
@@ -53,6 +57,29 @@ public abstract class Lexer<T extends FormatterSupport> implements Serializable
         return this.tokenList;
     }
 
+    /**
+     * @return the supported property names of the source, the indexes of the scanned
+     *         {@link de.icw.util.formatting.template.token.ActionToken}s refer to
+     */
+    public final List<String> getSupportedPropertyNames() {
+        return Collections.unmodifiableList(this.tokenList);
+    }
+
+    /**
+     * Resolves the attribute within the content of a token. A supported property name must form a
+     * whole identifier within the content, e.g. '(givenName, ' resolves to 'givenName' but
+     * 'cityName' does not resolve to 'city'. If several identifiers are supported the longest one
+     * wins. The costs depend on the length of the content only, not on the number of supported
+     * property names.
+     *
+     * @param content to be searched
+     * @return the index within {@link #getTokenList()} of the longest supported property name
+     *         forming an identifier of the content, -1 if there is none
+     */
+    protected final int findLongestToken(final String content) {
+        return this.tokenTrie.findLongestMatch(content);
+    }
+
     /**
      * Throw IllegalArgumentException with information about wrong token and supported tokens
      *
@@ -61,13 +88,46 @@ public abstract class Lexer<T extends FormatterSupport> implements Serializable
      */
     protected static final void throwUnsupportedTokenException(final String wrongToken,
             final List<String> allowedTokens) {
+        throw new IllegalArgumentException(createUnsupportedTokenMessage(wrongToken, allowedTokens));
+    }
+
+    /**
+     * Throw {@link TemplateSyntaxException} with information about wrong token and supported
+     * tokens
+     *
+     * @param wrongToken
+     * @param allowedTokens
+     * @param position of the wrong token within the template
+     */
+    protected static final void throwUnsupportedTokenException(final String wrongToken,
+            final List<String> allowedTokens, final int position) {
+        throw new TemplateSyntaxException(createUnsupportedTokenMessage(wrongToken, allowedTokens), position);
+    }
+
+    private static String createUnsupportedTokenMessage(final String wrongToken, final List<String> allowedTokens) {
         final StringBuilder builder = new StringBuilder();
         builder.append("Unsupported token '").append(wrongToken).append("' was detected.\n")
                 .append("Allowed are :\n");
         for (final String allowedToken : allowedTokens) {
             builder.append(" - ").append(allowedToken).append("\n");
         }
-        throw new IllegalArgumentException(builder.toString());
+        return builder.toString();
+    }
+
+    /**
+     * Counterpart of {@code Preconditions#checkArgument} for errors within a template.
+     *
+     * @param valid the condition to be checked
+     * @param position of the error within the template
+     * @param message the message, formatted by {@link String#format(String, Object...)}
+     * @param arguments of the message
+     * @throws TemplateSyntaxException if the condition is not valid
+     */
+    protected static final void checkTemplate(final boolean valid, final int position, final String message,
+            final Object... arguments) {
+        if (!valid) {
+            throw new TemplateSyntaxException(String.format(message, arguments), position);
+        }
     }
 
     /**
@@ -75,7 +135,8 @@ public abstract class Lexer<T extends FormatterSupport> implements Serializable
      *
      * @param input template string
      * @return created list of token, list could be empty if input template is null or empty
-     * @throws IllegalArgumentException if template include unknown token, or doesn't fit the rules
+     * @throws IllegalArgumentException if template include unknown token, or doesn't fit the rules,
+     *             usually a {@link TemplateSyntaxException} providing the position of the error
      */
     public abstract List<Token> scan(final String input);
 
@@ -99,11 +160,15 @@ public abstract class Lexer<T extends FormatterSupport> implements Serializable
         /** <attribute1><attribute2>..<attribute n> */
         SIMPLE_ANGLE_BRACKET,
         /**
-         * usage of String Template Expression Language
-         *
-         * @see <a
-         *      href="http://www.antlr.org/wiki/display/ST/StringTemplate+3+Documentation">
-         *      Documentation</a>
+         * [attribute1]{[attribute2] [attribute3?:attribute4?:'default']}..
+         * <ul>
+         * <li>[attribute] as for {@link #SIMPLE_SQUARED_BRACKTES}</li>
+         * <li>[attribute1?:attribute2] the first alternative with a value is used</li>
+         * <li>[attribute?:'default'] a quoted text serves as default value</li>
+         * <li>{..} a group, omitted together with its separators if none of its members has a
+         * value, groups may be nested</li>
+         * <li>\ escapes the following character</li>
+         * </ul>
          */
         STEL
     }
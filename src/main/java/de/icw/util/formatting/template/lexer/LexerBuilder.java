@@ -79,8 +79,7 @@ public final class LexerBuilder {
             if (SIMPLE.contains(expl)) {
                 return new BracketLexer<>(source, getBracketsTypeFor(expl));
             }
-            throw new IllegalArgumentException(expl
-                    + " doesn't belongs to Simple expression language.");
+            return new StelLexer<>(source);
         }
 
         /**
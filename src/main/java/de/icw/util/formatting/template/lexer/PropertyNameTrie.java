@@ -0,0 +1,120 @@
+package de.icw.util.formatting.template.lexer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Prefix trie over the property names supported by a {@link Lexer}. The children of a node are
+ * kept in a sorted array, so a lookup costs a binary search per character independent of the
+ * number of property names.
+ * Package private because it is an implementation detail of {@link Lexer}
+ *
+ * @author Eugen Fischer
+ */
+final class PropertyNameTrie implements Serializable {
+
+    private static final long serialVersionUID = -2412837391925164208L;
+
+    /** Returned by {@link #findLongestMatch(String)} if no name is found */
+    static final int NO_MATCH = -1;
+
+    private final Node root = new Node();
+
+    /**
+     * @param names to be stored, must not be null. The position of a name within the list is
+     *            returned by {@link #findLongestMatch(String)}, for duplicates the first one.
+     */
+    PropertyNameTrie(final List<String> names) {
+        checkNotNull(names, "Names must not be null");
+        for (int position = 0; position < names.size(); position++) {
+            final String name = names.get(position);
+            Node current = root;
+            for (int index = 0; index < name.length(); index++) {
+                current = current.addChild(name.charAt(index));
+            }
+            if (NO_MATCH == current.position) {
+                current.position = position;
+            }
+        }
+    }
+
+    /**
+     * Searches the longest stored name forming a whole identifier run within the given text, a run
+     * being a maximal sequence of {@link Character#isJavaIdentifierPart(char)} characters. A name
+     * merely contained in a run does not match, e.g. neither 'city' nor 'name' are found in
+     * 'cityName'. In case of several names of the same length the first run wins. Each character
+     * of the text is visited once, so the costs depend on the length of the text but neither on the
+     * number nor on the length of the stored names.
+     *
+     * @param text to be searched
+     * @return the position of the longest stored name forming an identifier run of the text,
+     *         {@value #NO_MATCH} if there is none
+     */
+    int findLongestMatch(final String text) {
+        int result = NO_MATCH;
+        int resultLength = 0;
+        int index = 0;
+        while (index < text.length()) {
+            if (!Character.isJavaIdentifierPart(text.charAt(index))) {
+                index++;
+                continue;
+            }
+            final int start = index;
+            Node current = root;
+            while (index < text.length() && Character.isJavaIdentifierPart(text.charAt(index))) {
+                if (null != current) {
+                    current = current.getChild(text.charAt(index));
+                }
+                index++;
+            }
+            if (null != current && NO_MATCH != current.position && index - start > resultLength) {
+                result = current.position;
+                resultLength = index - start;
+            }
+        }
+        return result;
+    }
+
+    private static final class Node implements Serializable {
+
+        private static final long serialVersionUID = 3208870853580711826L;
+
+        private static final char[] NO_KEYS = new char[0];
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private char[] keys = NO_KEYS;
+
+        private Node[] children = NO_CHILDREN;
+
+        /** Position of the stored name ending at this node */
+        private int position = NO_MATCH;
+
+        Node getChild(final char key) {
+            final int position = Arrays.binarySearch(keys, key);
+            return position < 0 ? null : children[position];
+        }
+
+        Node addChild(final char key) {
+            int position = Arrays.binarySearch(keys, key);
+            if (position >= 0) {
+                return children[position];
+            }
+            position = -position - 1;
+            final char[] newKeys = new char[keys.length + 1];
+            final Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, position);
+            System.arraycopy(children, 0, newChildren, 0, position);
+            newKeys[position] = key;
+            newChildren[position] = new Node();
+            System.arraycopy(keys, position, newKeys, position + 1, keys.length - position);
+            System.arraycopy(children, position, newChildren, position + 1, children.length - position);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[position];
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package de.icw.util.formatting.template.lexer;
+
+import static com.google.common.base.Strings.isNullOrEmpty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.icw.util.formatting.template.FormatterSupport;
+import de.icw.util.formatting.template.token.ActionToken;
+import de.icw.util.formatting.template.token.FallbackToken;
+import de.icw.util.formatting.template.token.GroupToken;
+import de.icw.util.formatting.template.token.StringToken;
+import de.icw.util.formatting.template.token.Token;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Lexer for {@link Lexer.ExpressionLanguage#STEL}. The template is scanned in a single pass into a
+ * tree of tokens which is evaluated in a single pass as well:
+ * <ul>
+ * <li>{@code [street, ]} an attribute, the same as for
+ * {@link Lexer.ExpressionLanguage#SIMPLE_SQUARED_BRACKTES}</li>
+ * <li>{@code [line1?:street]} alternatives, the first one with a value is used</li>
+ * <li>{@code [title?:'none']} a quoted text as alternative, serving as default value</li>
+ * <li>{@code {[postalCode] [city]}} a group, its separators are only written between members
+ * with value, the whole group is omitted if none of its members has a value. Groups may be
+ * nested.</li>
+ * <li>{@code \} escapes the following character, e.g. {@code \[}</li>
+ * </ul>
+ * Package private because LexerBuilder exists which must be used
+ *
+ * @author Eugen Fischer
+ * @param <T> bounded type for lexer
+ */
+@ToString
+@EqualsAndHashCode(callSuper = true)
+class StelLexer<T extends FormatterSupport> extends Lexer<T> {
+
+    private static final long serialVersionUID = -3416432046640946436L;
+
+    private static final char EXPRESSION_START = '[';
+
+    private static final char EXPRESSION_END = ']';
+
+    private static final char GROUP_START = '{';
+
+    private static final char GROUP_END = '}';
+
+    private static final char QUOTE = '\'';
+
+    private static final char ESCAPE = '\\';
+
+    private static final String ALTERNATIVE_SEPARATOR = "?:";
+
+    /**
+     * @param source must not be null
+     */
+    StelLexer(final T source) {
+        super(source);
+    }
+
+    @Override
+    public List<Token> scan(final String input) {
+        if (isNullOrEmpty(input)) {
+            return new ArrayList<>();
+        }
+        return new Parser(input).parseGroup(-1);
+    }
+
+    /**
+     * Holds the position within one template, therefore created per {@link #scan(String)}
+     */
+    private final class Parser {
+
+        private final String input;
+
+        private int position;
+
+        Parser(final String input) {
+            this.input = input;
+        }
+
+        /**
+         * @param opening position of the opening bracket, -1 for the template itself
+         *
+         * @return the tokens up to the closing bracket or the end of the template, the closing
+         *         bracket is consumed
+         */
+        private List<Token> parseGroup(final int opening) {
+            final List<Token> tokens = new ArrayList<>();
+            final StringBuilder literal = new StringBuilder();
+            while (position < input.length()) {
+                final char current = input.charAt(position);
+                switch (current) {
+                    case ESCAPE:
+                        literal.append(readEscaped());
+                        break;
+                    case GROUP_START:
+                        addLiteral(tokens, literal);
+                        position++;
+                        addGroup(tokens, parseGroup(position - 1));
+                        break;
+                    case GROUP_END:
+                        checkTemplate(opening >= 0, position,
+                                "pattern '%s' is unbalanced, closing bracket '%s' at position %s has no opening bracket",
+                                input, current, position);
+                        addLiteral(tokens, literal);
+                        position++;
+                        return tokens;
+                    case EXPRESSION_START:
+                        addLiteral(tokens, literal);
+                        position++;
+                        parseExpression(position - 1, tokens);
+                        break;
+                    case EXPRESSION_END:
+                        throw new TemplateSyntaxException(String.format(
+                                "pattern '%s' is unbalanced, closing bracket '%s' at position %s has no opening bracket",
+                                input, current, position), position);
+                    default:
+                        literal.append(current);
+                        position++;
+                }
+            }
+            checkTemplate(opening < 0, opening, "pattern '%s' is unbalanced, bracket '%s' at position %s is not closed",
+                    input, GROUP_START, opening);
+            addLiteral(tokens, literal);
+            return tokens;
+        }
+
+        private void parseExpression(final int opening, final List<Token> tokens) {
+            final List<Token> alternatives = new ArrayList<>();
+            final StringBuilder content = new StringBuilder();
+            String quoted = null;
+            while (position < input.length()) {
+                final char current = input.charAt(position);
+                if (EXPRESSION_END == current) {
+                    position++;
+                    if (alternatives.isEmpty() && null == quoted && content.length() == 0) {
+                        // empty expression, ignored as by BracketLexer
+                        return;
+                    }
+                    alternatives.add(createAlternative(content, quoted, opening));
+                    tokens.add(alternatives.size() == 1 ? alternatives.get(0) : new FallbackToken(alternatives));
+                    return;
+                }
+                if (input.startsWith(ALTERNATIVE_SEPARATOR, position)) {
+                    alternatives.add(createAlternative(content, quoted, opening));
+                    content.setLength(0);
+                    quoted = null;
+                    position += ALTERNATIVE_SEPARATOR.length();
+                } else if (QUOTE == current) {
+                    checkTemplate(null == quoted && content.length() == 0, position,
+                            "pattern '%s' contains a quoted text at position %s not forming a whole alternative",
+                            input, position);
+                    quoted = readQuoted();
+                } else {
+                    checkTemplate(null == quoted, position,
+                            "pattern '%s' contains a quoted text not forming a whole alternative before position %s",
+                            input, position);
+                    checkTemplate(EXPRESSION_START != current && GROUP_START != current && GROUP_END != current,
+                            position,
+                            "pattern '%s' contains nested brackets, bracket '%s' at position %s is not closed before position %s",
+                            input, EXPRESSION_START, opening, position);
+                    if (ESCAPE == current) {
+                        content.append(readEscaped());
+                    } else {
+                        content.append(current);
+                        position++;
+                    }
+                }
+            }
+            throw new TemplateSyntaxException(String.format(
+                    "pattern '%s' is unbalanced, bracket '%s' at position %s is not closed", input,
+                    EXPRESSION_START, opening), opening);
+        }
+
+        private Token createAlternative(final StringBuilder content, final String quoted, final int opening) {
+            if (null != quoted) {
+                return new StringToken(quoted);
+            }
+            checkTemplate(content.length() > 0, opening, "pattern '%s' contains an empty alternative within bracket at position %s",
+                    input, opening);
+            final String text = content.toString();
+            final int index = findLongestToken(text);
+            if (index < 0) {
+                throwUnsupportedTokenException(text, getTokenList(), opening);
+            }
+            return new ActionToken(text, getTokenList().get(index), index);
+        }
+
+        private String readQuoted() {
+            final int opening = position;
+            position++;
+            final StringBuilder result = new StringBuilder();
+            while (position < input.length()) {
+                final char current = input.charAt(position);
+                if (QUOTE == current) {
+                    position++;
+                    return result.toString();
+                }
+                if (ESCAPE == current) {
+                    result.append(readEscaped());
+                } else {
+                    result.append(current);
+                    position++;
+                }
+            }
+            throw new TemplateSyntaxException(String.format(
+                    "pattern '%s' is unbalanced, quote at position %s is not closed", input, opening), opening);
+        }
+
+        private char readEscaped() {
+            checkTemplate(position + 1 < input.length(), position,
+                    "pattern '%s' ends with the escape character '%s'", input, ESCAPE);
+            position += 2;
+            return input.charAt(position - 1);
+        }
+
+        private void addLiteral(final List<Token> tokens, final StringBuilder literal) {
+            if (literal.length() > 0) {
+                tokens.add(new StringToken(literal.toString()));
+                literal.setLength(0);
+            }
+        }
+
+        /**
+         * A group consisting of a single expression behaves like the expression itself, therefore
+         * the expression is added directly.
+         */
+        private void addGroup(final List<Token> tokens, final List<Token> members) {
+            if (members.size() == 1 && !members.get(0).isStringToken()) {
+                tokens.add(members.get(0));
+            } else if (!members.isEmpty()) {
+                tokens.add(new GroupToken(members));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,27 @@
+package de.icw.util.formatting.template.lexer;
+
+import lombok.Getter;
+
+/**
+ * Thrown by a {@link Lexer} if a template doesn't fit the rules of the expression language or
+ * uses unsupported tokens. Provides the position of the error within the template.
+ *
+ * @author Eugen Fischer
+ */
+public class TemplateSyntaxException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 5227301853236862563L;
+
+    /** Position of the error within the template */
+    @Getter
+    private final int position;
+
+    /**
+     * @param message describing the error
+     * @param position of the error within the template
+     */
+    public TemplateSyntaxException(final String message, final int position) {
+        super(message);
+        this.position = position;
+    }
+}
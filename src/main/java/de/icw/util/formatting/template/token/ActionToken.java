@@ -4,17 +4,19 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.io.Serializable;
-import java.util.Arrays;
-import java.util.List;
 import java.util.Map;
 
 import de.icw.util.formatting.template.FormatterSupport;
+import de.icw.util.formatting.template.IndexedFormatterSupport;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.ToString;
 
 /**
  * String Action Token store template and attribute name, and replace attribute with his value
- * inside the template on execution of {@linkplain #substituteAttribute(FormatterSupport)}
+ * inside the template on execution of {@linkplain #substituteAttribute(FormatterSupport)}.
+ * The template is decomposed on construction into the text before and after the attribute, so a
+ * substitution is a single lookup of the value plus appending the parts.
  *
  * @author Eugen Fischer
  */
@@ -24,47 +26,113 @@ public class ActionToken implements Token, Serializable {
 
     private static final long serialVersionUID = -6329721490557755853L;
 
+    /** The text written before the value */
+    @Getter
     private final String before;
 
+    /** The name of the attribute */
+    @Getter
     private final String attribute;
 
+    /** The text written after the value */
+    @Getter
     private final String after;
 
+    /** Index of the attribute within the supported property names, -1 if unknown */
+    @Getter
+    private final int index;
+
+    /** Length of before and after, used for sizing the result of a substitution */
+    private final int surroundingLength;
+
     /**
      * @param template
      * @param token
      */
     public ActionToken(final String template, final String token) {
-        checkArgument(template.contains(token), "'" + template + " must contain '" + token + "'");
-        final List<String> splitted = Arrays.asList(template.split(token));
-        before = extractSurrounding(splitted, 0);
-        attribute = token;
-        after = extractSurrounding(splitted, 1);
+        this(template, token, -1);
     }
 
-    private static String extractSurrounding(final List<String> splitted, final int index) {
-        String result = "";
-        if (!splitted.isEmpty() && splitted.size() > index) {
-            result = splitted.get(index);
-        }
-        return result;
+    /**
+     * The text before the first occurrence of the token is kept as prefix, the text behind it up to
+     * a further occurrence of the token as suffix. The token is matched literally.
+     *
+     * @param template
+     * @param token must not be empty
+     * @param index of the token within {@link FormatterSupport#getSupportedPropertyNames()}, used
+     *            for reading the value of an {@link IndexedFormatterSupport} by index. -1 if
+     *            unknown.
+     */
+    public ActionToken(final String template, final String token, final int index) {
+        checkArgument(!token.isEmpty(), "Token must not be empty");
+        final int start = template.indexOf(token);
+        checkArgument(start >= 0, "'" + template + " must contain '" + token + "'");
+        final int end = start + token.length();
+        final int next = template.indexOf(token, end);
+        before = template.substring(0, start);
+        attribute = token;
+        after = template.substring(end, next < 0 ? template.length() : next);
+        this.index = index;
+        surroundingLength = before.length() + after.length();
     }
 
     @Override
     public String substituteAttribute(final FormatterSupport content) {
+        final StringBuilder result = new StringBuilder(surroundingLength + 16);
+        appendTo(content, result);
+        return result.toString();
+    }
+
+    /**
+     * Reads the value by name, also for an {@link IndexedFormatterSupport}: Its supported property
+     * names are not known to match the index.
+     */
+    @Override
+    public void appendTo(final FormatterSupport content, final StringBuilder target) {
         checkNotNull(content, "Content must not be null. ");
+        appendFromMap(content, target);
+    }
+
+    /**
+     * Reads the value by index if the lexer resolved one, otherwise by name. The caller must have
+     * verified that the supported property names of the content are the ones the index was
+     * resolved for, once for all tokens.
+     */
+    @Override
+    public void appendTo(final IndexedFormatterSupport content, final int availableCount,
+            final StringBuilder target) {
+        checkNotNull(content, "Content must not be null. ");
+        if (index >= 0) {
+            appendValue(content.valueAt(index), availableCount, target);
+        } else {
+            appendFromMap(content, target);
+        }
+    }
+
+    private void appendFromMap(final FormatterSupport content, final StringBuilder target) {
         final Map<String, Serializable> attributeValues = checkNotNull(
                 content.getAvailablePropertyValues(), "AvailablePropertyValues must not be null. ");
-        final StringBuilder result = new StringBuilder();
-        if (attributeValues.containsKey(attribute)) {
-            if (attributeValues.keySet().size() > 1) {
-                result.append(before).append(attributeValues.get(attribute)).append(after);
-            } else {
-                // special case : if only one value exists no stored before + after are needed
-                result.append(attributeValues.get(attribute).toString());
-            }
+        appendValue(attributeValues.get(attribute), attributeValues.size(), target);
+    }
+
+    /**
+     * Appends the given value with the text before and after it, the text around is omitted if
+     * there is at most one value available.
+     *
+     * @param value of the attribute, nothing is appended if it is {@code null}
+     * @param availableCount the number of properties of the content with a value
+     * @param target to append to, must not be null
+     */
+    public void appendValue(final Object value, final int availableCount, final StringBuilder target) {
+        if (null == value) {
+            return;
+        }
+        if (availableCount > 1) {
+            target.append(before).append(value).append(after);
+        } else {
+            // special case : if only one value exists no stored before + after are needed
+            target.append(value.toString());
         }
-        return result.toString();
     }
 
     @Override
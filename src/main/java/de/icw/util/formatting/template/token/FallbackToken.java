@@ -0,0 +1,73 @@
+package de.icw.util.formatting.template.token;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.Serializable;
+import java.util.List;
+
+import de.icw.util.formatting.template.FormatterSupport;
+import de.icw.util.formatting.template.IndexedFormatterSupport;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Token consisting of several alternatives, e.g. {@code [title?:'none']}. On substitution the
+ * alternatives are tried in order, the first one resulting in a non empty text wins. A
+ * {@link StringToken} as last alternative therefore serves as default value.
+ *
+ * @author Eugen Fischer
+ */
+@ToString
+@EqualsAndHashCode
+public class FallbackToken implements Token, Serializable {
+
+    private static final long serialVersionUID = 4424318406264183317L;
+
+    private final Token[] alternatives;
+
+    /**
+     * @param alternatives to be tried in order, must not be null or empty
+     */
+    public FallbackToken(final List<Token> alternatives) {
+        checkNotNull(alternatives, "Alternatives must not be null");
+        checkArgument(!alternatives.isEmpty(), "Alternatives must not be empty");
+        this.alternatives = alternatives.toArray(new Token[0]);
+    }
+
+    @Override
+    public String substituteAttribute(final FormatterSupport content) {
+        final StringBuilder result = new StringBuilder();
+        appendTo(content, result);
+        return result.toString();
+    }
+
+    @Override
+    public void appendTo(final FormatterSupport content, final StringBuilder target) {
+        final int start = target.length();
+        for (final Token alternative : alternatives) {
+            alternative.appendTo(content, target);
+            if (target.length() > start) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void appendTo(final IndexedFormatterSupport content, final int availableCount,
+            final StringBuilder target) {
+        final int start = target.length();
+        for (final Token alternative : alternatives) {
+            alternative.appendTo(content, availableCount, target);
+            if (target.length() > start) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean isStringToken() {
+        return false;
+    }
+
+}
@@ -0,0 +1,95 @@
+package de.icw.util.formatting.template.token;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.Serializable;
+import java.util.List;
+
+import de.icw.util.formatting.template.FormatterSupport;
+import de.icw.util.formatting.template.IndexedFormatterSupport;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Token grouping several tokens, e.g. {@code {[postalCode] [city]}}. A
+ * {@link Token#isStringToken() string token} is only written if the token before has a value and
+ * at least one of the following tokens has a value. Therefore the group results in an empty text if
+ * none of its members has a value, and the separators around the group are dropped as for any
+ * other token without value. A whole template is evaluated as a root group by
+ * {@code CompiledTemplate}.
+ * <p>
+ * Both rules are applied in a single pass, each member is substituted exactly once and written
+ * directly into the target: String tokens following a token with value are written tentatively,
+ * at the end the target is truncated behind the last action token with a value.
+ * </p>
+ *
+ * @author Eugen Fischer
+ */
+@ToString
+@EqualsAndHashCode
+public class GroupToken implements Token, Serializable {
+
+    private static final long serialVersionUID = -1791745396800370457L;
+
+    private final Token[] members;
+
+    /**
+     * @param members of the group, must not be null
+     */
+    public GroupToken(final List<Token> members) {
+        this.members = checkNotNull(members, "Members must not be null").toArray(new Token[0]);
+    }
+
+    @Override
+    public String substituteAttribute(final FormatterSupport content) {
+        final StringBuilder result = new StringBuilder();
+        appendTo(content, result);
+        return result.toString();
+    }
+
+    @Override
+    public void appendTo(final FormatterSupport content, final StringBuilder target) {
+        appendMembers(content, null, 0, target);
+    }
+
+    @Override
+    public void appendTo(final IndexedFormatterSupport content, final int availableCount,
+            final StringBuilder target) {
+        appendMembers(content, content, availableCount, target);
+    }
+
+    private void appendMembers(final FormatterSupport content, final IndexedFormatterSupport indexed,
+            final int availableCount, final StringBuilder target) {
+        int confirmedLength = target.length();
+        boolean previousHasValue = false;
+        for (final Token member : members) {
+            final int start = target.length();
+            if (member.isStringToken()) {
+                if (previousHasValue) {
+                    member.appendTo(content, target);
+                    previousHasValue = target.length() > start;
+                } else {
+                    // Not written, but its value counts for the next string token
+                    previousHasValue = !member.substituteAttribute(content).isEmpty();
+                }
+            } else {
+                if (null != indexed) {
+                    member.appendTo(indexed, availableCount, target);
+                } else {
+                    member.appendTo(content, target);
+                }
+                previousHasValue = target.length() > start;
+                if (previousHasValue) {
+                    confirmedLength = target.length();
+                }
+            }
+        }
+        target.setLength(confirmedLength);
+    }
+
+    @Override
+    public boolean isStringToken() {
+        return false;
+    }
+
+}
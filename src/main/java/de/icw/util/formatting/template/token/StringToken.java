@@ -6,6 +6,7 @@ import java.io.Serializable;
 
 import de.icw.util.formatting.template.FormatterSupport;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.ToString;
 
 /**
@@ -20,6 +21,7 @@ public class StringToken implements Token, Serializable {
 
     private static final long serialVersionUID = 6377388001925442782L;
 
+    @Getter
     private final String value;
 
     /**
@@ -37,6 +39,11 @@ public class StringToken implements Token, Serializable {
         return value;
     }
 
+    @Override
+    public void appendTo(final FormatterSupport content, final StringBuilder target) {
+        target.append(value);
+    }
+
     @Override
     public boolean isStringToken() {
         return true;
@@ -1,6 +1,7 @@
 package de.icw.util.formatting.template.token;
 
 import de.icw.util.formatting.template.FormatterSupport;
+import de.icw.util.formatting.template.IndexedFormatterSupport;
 
 /**
  * Any token should provide a method to substitute "placeholder" with his value
@@ -16,6 +17,32 @@ public interface Token {
      */
     String substituteAttribute(FormatterSupport content);
 
+    /**
+     * Appends the same text {@link #substituteAttribute(FormatterSupport)} returns to the given
+     * target, without creating an intermediate String where possible.
+     *
+     * @param content must not be null
+     * @param target to append to, must not be null
+     */
+    default void appendTo(final FormatterSupport content, final StringBuilder target) {
+        target.append(substituteAttribute(content));
+    }
+
+    /**
+     * Variant of {@link #appendTo(FormatterSupport, StringBuilder)} for content providing its
+     * values by index. The caller must have verified that the supported property names of the
+     * content are the ones the lexer resolved the indexes of the tokens for.
+     *
+     * @param content must not be null
+     * @param availableCount the number of properties of the content with a value, see
+     *            {@link IndexedFormatterSupport#getAvailableCount()}
+     * @param target to append to, must not be null
+     */
+    default void appendTo(final IndexedFormatterSupport content, final int availableCount,
+            final StringBuilder target) {
+        appendTo((FormatterSupport) content, target);
+    }
+
     /**
      * @return true if Token has no substitutions
      */
@@ -55,8 +55,8 @@ public final class MorePaths {
         try {
             return path.toRealPath();
         } catch (IOException e) {
-            LOG.warn("Unable to resolve real path for '{}', due to '{}'. Returning absolutePath.", path, e.getMessage(),
-                    e);
+            LOG.warn(e, "Unable to resolve real path for '{}', due to '{}'. Returning absolutePath.", path,
+                    e.getMessage());
             return path.toAbsolutePath();
         }
     }
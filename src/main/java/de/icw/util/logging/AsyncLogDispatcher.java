@@ -0,0 +1,348 @@
+package de.icw.util.logging;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * <p>
+ * Publishes {@link LogRecord}s on a single background thread instead of the calling thread. The
+ * records are put into a bounded lock-free ring buffer. The consumer thread drains them in batches,
+ * passes them to {@link java.util.logging.Logger#log(LogRecord)} and flushes the involved
+ * {@link Handler}s once per batch.
+ * </p>
+ * <p>
+ * Messages created from a template are rendered on the consumer thread. The parameter are
+ * snapshotted on the calling thread: immutable values like Strings or Numbers are kept, all other
+ * values are converted to String immediately. Because the records are published on a different
+ * thread the source class and method are not inferred, the formatters use the logger name instead.
+ * </p>
+ * <h2>Using</h2>
+ *
+ * <pre>
+ * <code>
+ * AsyncLogDispatcher dispatcher = AsyncLogDispatcher.builder().capacity(8192)
+ *         .overflowPolicy(OverflowPolicy.DROP_LOWEST_LEVEL).build();
+ * Logger.setDefaultDispatcher(dispatcher);
+ * </code>
+ * </pre>
+ * <p>
+ * {@link #close()} publishes all pending records and stops the consumer thread. Records dispatched
+ * afterwards are published on the calling thread.
+ * </p>
+ *
+ * @author Oliver Wolff
+ *
+ */
+public final class AsyncLogDispatcher implements AutoCloseable {
+
+    /** Default capacity of the ring buffer. */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    /** Default maximum number of records published per batch. */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /**
+     * Defines the behavior in case the ring buffer is full.
+     */
+    public enum OverflowPolicy {
+        /** The calling thread waits until there is space in the ring buffer. */
+        BLOCK,
+        /**
+         * Records below {@link Level#WARNING} are dropped, records with {@link Level#WARNING} and
+         * above are handled like {@link #BLOCK}.
+         */
+        DROP_LOWEST_LEVEL,
+        /** The record is published on the calling thread. */
+        CALLER_RUNS
+    }
+
+    private final RecordRingBuffer buffer;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final int batchSize;
+
+    private final Thread consumer;
+
+    private final LongAdder droppedRecords = new LongAdder();
+
+    private final LongAdder callerRunsRecords = new LongAdder();
+
+    private final Set<Handler> batchHandlers = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private final ErrorManager errorManager = new ErrorManager();
+
+    /** Number of producers that may offer to the buffer, see {@link #close()} */
+    private final AtomicInteger producers = new AtomicInteger();
+
+    private volatile boolean running = true;
+
+    private volatile boolean idle;
+
+    private AsyncLogDispatcher(Builder builder) {
+        buffer = new RecordRingBuffer(builder.capacity);
+        overflowPolicy = builder.overflowPolicy;
+        batchSize = builder.batchSize;
+        consumer = new Thread(this::consume, builder.threadName);
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    /**
+     * Hands the given record over to the consumer thread, or handles it according to the
+     * {@link OverflowPolicy} if the ring buffer is full.
+     *
+     * @param logger to publish the record with, must not be null
+     * @param record to be published, must not be null
+     */
+    void dispatch(java.util.logging.Logger logger, LogRecord record) {
+        // Registered before checking running, so close() waits for the offer to complete
+        producers.incrementAndGet();
+        try {
+            if (!running || Thread.currentThread() == consumer) {
+                log(logger, record);
+                return;
+            }
+            offer(logger, record);
+        } finally {
+            producers.decrementAndGet();
+        }
+    }
+
+    private void offer(java.util.logging.Logger logger, LogRecord record) {
+        if (buffer.offer(logger, record)) {
+            wakeUpConsumer();
+            return;
+        }
+        switch (overflowPolicy) {
+            case CALLER_RUNS:
+                callerRunsRecords.increment();
+                log(logger, record);
+                break;
+            case DROP_LOWEST_LEVEL:
+                if (record.getLevel().intValue() < Level.WARNING.intValue()) {
+                    droppedRecords.increment();
+                    break;
+                }
+                offerBlocking(logger, record);
+                break;
+            default:
+                offerBlocking(logger, record);
+        }
+    }
+
+    private void offerBlocking(java.util.logging.Logger logger, LogRecord record) {
+        while (!buffer.offer(logger, record)) {
+            if (!running) {
+                log(logger, record);
+                return;
+            }
+            LockSupport.unpark(consumer);
+            LockSupport.parkNanos(this, BLOCKED_PARK_NANOS);
+        }
+        wakeUpConsumer();
+    }
+
+    private static void log(java.util.logging.Logger logger, LogRecord record) {
+        if (LogMetrics.isEnabled()) {
+            long start = System.nanoTime();
+            logger.log(record);
+            LogMetrics.record(logger, record.getLevel(), record.getMessage(), System.nanoTime() - start);
+        } else {
+            logger.log(record);
+        }
+    }
+
+    private void wakeUpConsumer() {
+        if (idle) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    private void consume() {
+        while (running || !buffer.isEmpty()) {
+            if (buffer.drainTo(this::publish, batchSize) > 0) {
+                flushBatch();
+            } else {
+                idle = true;
+                if (running && buffer.isEmpty()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                idle = false;
+            }
+        }
+    }
+
+    private void publish(java.util.logging.Logger logger, LogRecord record) {
+        try {
+            log(logger, record);
+            collectHandlers(logger);
+        } catch (RuntimeException e) {
+            errorManager.error("Unable to publish log record", e, ErrorManager.WRITE_FAILURE);
+        }
+    }
+
+    private void collectHandlers(java.util.logging.Logger logger) {
+        java.util.logging.Logger current = logger;
+        while (null != current) {
+            Collections.addAll(batchHandlers, current.getHandlers());
+            if (!current.getUseParentHandlers()) {
+                break;
+            }
+            current = current.getParent();
+        }
+    }
+
+    private void flushBatch() {
+        for (Handler handler : batchHandlers) {
+            try {
+                handler.flush();
+            } catch (RuntimeException e) {
+                errorManager.error("Unable to flush handler", e, ErrorManager.FLUSH_FAILURE);
+            }
+        }
+        batchHandlers.clear();
+    }
+
+    /**
+     * @return the number of records dropped due to {@link OverflowPolicy#DROP_LOWEST_LEVEL}
+     */
+    public long getDroppedRecords() {
+        return droppedRecords.sum();
+    }
+
+    /**
+     * @return the number of records published on the calling thread due to
+     *         {@link OverflowPolicy#CALLER_RUNS}
+     */
+    public long getCallerRunsRecords() {
+        return callerRunsRecords.sum();
+    }
+
+    /**
+     * @return the configured {@link OverflowPolicy}
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * @return {@code true} as long as the dispatcher is not closed
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Publishes all pending records and stops the consumer thread. Waits for producers that
+     * started dispatching before, so their records are published as well.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(consumer);
+        if (Thread.currentThread() == consumer) {
+            return;
+        }
+        try {
+            consumer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        while (producers.get() > 0) {
+            LockSupport.parkNanos(this, BLOCKED_PARK_NANOS);
+        }
+        // Records offered while the consumer was terminating
+        buffer.drainTo(this::publish, buffer.capacity());
+        flushBatch();
+    }
+
+    /**
+     * @return a newly created {@link Builder}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for {@link AsyncLogDispatcher}
+     */
+    public static final class Builder {
+
+        private int capacity = DEFAULT_CAPACITY;
+
+        private int batchSize = DEFAULT_BATCH_SIZE;
+
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+        private String threadName = "async-log-dispatcher";
+
+        private Builder() {
+        }
+
+        /**
+         * @param capacity of the ring buffer, will be rounded up to the next power of two. Must be
+         *            positive, defaults to {@link AsyncLogDispatcher#DEFAULT_CAPACITY}
+         * @return the builder itself
+         */
+        public Builder capacity(int capacity) {
+            checkArgument(capacity > 0 && capacity <= 1 << 30, "Capacity out of range: %s", capacity);
+            this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+            return this;
+        }
+
+        /**
+         * @param batchSize the maximum number of records published before the handlers are
+         *            flushed. Must be positive, defaults to
+         *            {@link AsyncLogDispatcher#DEFAULT_BATCH_SIZE}
+         * @return the builder itself
+         */
+        public Builder batchSize(int batchSize) {
+            checkArgument(batchSize > 0, "BatchSize must be positive: %s", batchSize);
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * @param overflowPolicy must not be null, defaults to {@link OverflowPolicy#BLOCK}
+         * @return the builder itself
+         */
+        public Builder overflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = requireNonNull(overflowPolicy);
+            return this;
+        }
+
+        /**
+         * @param threadName name of the consumer thread, must not be null
+         * @return the builder itself
+         */
+        public Builder threadName(String threadName) {
+            this.threadName = requireNonNull(threadName);
+            return this;
+        }
+
+        /**
+         * @return the {@link AsyncLogDispatcher} with its consumer thread already started
+         */
+        public AsyncLogDispatcher build() {
+            return new AsyncLogDispatcher(this);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package de.icw.util.logging;
+
+import java.io.ObjectStreamException;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * {@link LogRecord} that renders its message on the first call of {@link #getMessage()}, usually
+ * on the thread publishing the record. The parameter are expected to be a snapshot, see
+ * {@link MessageTemplate#snapshot(Object...)}.
+ *
+ * @author Oliver Wolff
+ *
+ */
+class DeferredLogRecord extends LogRecord {
+
+    private static final long serialVersionUID = -2781309472917355290L;
+
+    private transient MessageTemplate template;
+
+    private transient Object[] templateParameter;
+
+    /**
+     * @param level of the record, must not be null
+     * @param template to be rendered, must not be null
+     * @param templateParameter the snapshot of the parameter
+     */
+    DeferredLogRecord(Level level, MessageTemplate template, Object[] templateParameter) {
+        super(level, null);
+        this.template = template;
+        this.templateParameter = templateParameter;
+    }
+
+    @Override
+    public synchronized String getMessage() {
+        if (null != template) {
+            super.setMessage(template.render(templateParameter));
+            template = null;
+            templateParameter = null;
+        }
+        return super.getMessage();
+    }
+
+    @Override
+    public synchronized void setMessage(String message) {
+        template = null;
+        templateParameter = null;
+        super.setMessage(message);
+    }
+
+    private Object writeReplace() throws ObjectStreamException {
+        getMessage();
+        return this;
+    }
+}
@@ -0,0 +1,140 @@
+package de.icw.util.logging;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.logging.Level;
+
+/**
+ * Snapshot of the effective level of a {@link java.util.logging.Logger}, in order to reduce
+ * {@link java.util.logging.Logger#isLoggable(Level)} to an int comparison on a final field. The
+ * snapshot remembers the loggers of the parent chain up to the one defining the level together with
+ * their {@link java.util.logging.Logger#getLevel()} references. Each check verifies these
+ * references, so the snapshot is recomputed as soon as a level or parent within the chain changes,
+ * no matter whether by {@link Logger#setLevel(Level)}, directly on the wrapped
+ * {@link java.util.logging.Logger}, by {@link java.util.logging.LoggingMXBean#setLoggerLevel} or by
+ * reading a configuration of the {@link java.util.logging.LogManager}.
+ *
+ * @author Oliver Wolff
+ *
+ */
+final class EffectiveLevel {
+
+    private static final Level DEFAULT_LEVEL = Level.INFO;
+
+    private static final Set<EffectiveLevel> INSTANCES = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private final java.util.logging.Logger logger;
+
+    /** Replaced as a whole, never modified */
+    private volatile Snapshot snapshot;
+
+    /**
+     * @param logger to be observed, must not be null
+     */
+    EffectiveLevel(java.util.logging.Logger logger) {
+        this.logger = requireNonNull(logger);
+        snapshot = new Snapshot(logger);
+        synchronized (INSTANCES) {
+            INSTANCES.add(this);
+        }
+    }
+
+    /**
+     * @param levelValue the {@link Level#intValue()} to be checked
+     * @return {@code true} if the given level is enabled, false otherwise.
+     */
+    boolean isEnabled(int levelValue) {
+        return levelValue >= current().value;
+    }
+
+    /**
+     * Recomputes all existing snapshots. Not needed for correctness, the snapshots detect changes
+     * themselves.
+     */
+    static void refreshAll() {
+        synchronized (INSTANCES) {
+            for (EffectiveLevel instance : INSTANCES) {
+                instance.snapshot = new Snapshot(instance.logger);
+            }
+        }
+    }
+
+    /**
+     * @return the names of the loggers of all existing snapshots together with their effective
+     *         level
+     */
+    static SortedMap<String, Level> snapshotAll() {
+        SortedMap<String, Level> result = new TreeMap<>();
+        synchronized (INSTANCES) {
+            for (EffectiveLevel instance : INSTANCES) {
+                result.put(instance.logger.getName(), instance.current().level);
+            }
+        }
+        return result;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (!current.isValid()) {
+            current = new Snapshot(logger);
+            snapshot = current;
+        }
+        return current;
+    }
+
+    /**
+     * The effective level resolved the same way {@link java.util.logging.Logger} does: The first
+     * level found walking up the parent chain. {@link Level#OFF} maps to {@link Integer#MAX_VALUE}
+     * and therefore disables all levels.
+     */
+    private static final class Snapshot {
+
+        /** The loggers walked, starting with the observed one */
+        private final java.util.logging.Logger[] chain;
+
+        /** The level of each logger of the chain at the time of the snapshot */
+        private final Level[] levels;
+
+        private final Level level;
+
+        private final int value;
+
+        Snapshot(java.util.logging.Logger logger) {
+            List<java.util.logging.Logger> loggers = new ArrayList<>();
+            List<Level> found = new ArrayList<>();
+            Level resolved = null;
+            for (java.util.logging.Logger current = logger; null != current && null == resolved; current =
+                current.getParent()) {
+                resolved = current.getLevel();
+                loggers.add(current);
+                found.add(resolved);
+            }
+            chain = loggers.toArray(new java.util.logging.Logger[0]);
+            levels = found.toArray(new Level[0]);
+            level = null == resolved ? DEFAULT_LEVEL : resolved;
+            value = level.intValue();
+        }
+
+        /**
+         * @return {@code true} if neither a level nor a parent of the chain changed
+         */
+        boolean isValid() {
+            int last = chain.length - 1;
+            for (int index = 0; index < last; index++) {
+                if (chain[index].getLevel() != levels[index] || chain[index].getParent() != chain[index + 1]) {
+                    return false;
+                }
+            }
+            java.util.logging.Logger top = chain[last];
+            // Without any level found the chain ends at a logger without parent
+            return top.getLevel() == levels[last] && (null != levels[last] || null == top.getParent());
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package de.icw.util.logging;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Formatter;
+import java.util.logging.LogRecord;
+
+/**
+ * <p>
+ * {@link Formatter} writing each {@link LogRecord} as a single line of compact JSON, e.g.
+ * </p>
+ * <p>
+ * {@code {"time":1546300800000,"level":"INFO","logger":"de.icw.Order","thread":1,"message":"Order 4
+ * processed","orderId":4}}
+ * </p>
+ * <p>
+ * The key/value pairs of structured log-events, see {@link Logger#atInfo()}, are written as
+ * top-level fields. Integral numbers, finite floating point numbers, {@link BigInteger}s,
+ * {@link BigDecimal}s and {@link Boolean}s are written as raw JSON values, all other values,
+ * including other {@link Number} implementations, as Strings. Other parameter of the record are
+ * ignored, the message is expected to be formatted already. A {@link Throwable} is written as field
+ * {@code "thrown"} containing the stack-trace.
+ * </p>
+ * <p>
+ * Keys colliding with the fixed fields, e.g. {@code "message"}, are prefixed with an underscore.
+ * Keys consisting of underscores followed by the name of a fixed field are prefixed as well, so
+ * distinct keys stay distinct.
+ * </p>
+ * <p>
+ * Besides {@link #format(LogRecord)}, which is needed by {@link java.util.logging.Handler}s,
+ * {@link #write(LogRecord, OutputStream)} encodes the record directly into a reused UTF-8 byte
+ * buffer without creating intermediate Strings.
+ * </p>
+ *
+ * @author Oliver Wolff
+ *
+ */
+public class JsonLinesFormatter extends Formatter {
+
+    private static final int INITIAL_CAPACITY = 512;
+
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private static final Set<String> FIXED_FIELDS =
+        new HashSet<>(Arrays.asList("time", "level", "logger", "thread", "message", "thrown"));
+
+    private static final ThreadLocal<ByteBuffer> BUFFER = ThreadLocal.withInitial(ByteBuffer::new);
+
+    @Override
+    public String format(LogRecord record) {
+        ByteBuffer buffer = acquireBuffer();
+        try {
+            encode(record, buffer);
+            return new String(buffer.bytes, 0, buffer.size, StandardCharsets.UTF_8);
+        } finally {
+            buffer.reset();
+        }
+    }
+
+    /**
+     * Writes the given record including the trailing line-separator to the given stream.
+     *
+     * @param record to be written, must not be null
+     * @param out to be written to, must not be null
+     * @throws IOException if an I/O error occurs
+     */
+    public void write(LogRecord record, OutputStream out) throws IOException {
+        requireNonNull(out);
+        ByteBuffer buffer = acquireBuffer();
+        try {
+            encode(record, buffer);
+            out.write(buffer.bytes, 0, buffer.size);
+        } finally {
+            buffer.reset();
+        }
+    }
+
+    private static ByteBuffer acquireBuffer() {
+        ByteBuffer buffer = BUFFER.get();
+        if (buffer.inUse) {
+            // Reentrant call, e.g. by a toString() method of a value that logs itself
+            return new ByteBuffer();
+        }
+        buffer.inUse = true;
+        return buffer;
+    }
+
+    private static void encode(LogRecord record, ByteBuffer buffer) {
+        requireNonNull(record);
+        buffer.ascii("{\"time\":");
+        buffer.number(record.getMillis());
+        buffer.ascii(",\"level\":");
+        buffer.string(record.getLevel().getName());
+        if (null != record.getLoggerName()) {
+            buffer.ascii(",\"logger\":");
+            buffer.string(record.getLoggerName());
+        }
+        buffer.ascii(",\"thread\":");
+        buffer.number(record.getThreadID());
+        buffer.ascii(",\"message\":");
+        buffer.string(record.getMessage());
+        Object[] parameters = record.getParameters();
+        if (null != parameters) {
+            for (Object parameter : parameters) {
+                if (parameter instanceof Map.Entry) {
+                    Map.Entry<?, ?> entry = (Map.Entry<?, ?>) parameter;
+                    buffer.write(',');
+                    key(String.valueOf(entry.getKey()), buffer);
+                    buffer.write(':');
+                    value(entry.getValue(), buffer);
+                }
+            }
+        }
+        if (null != record.getThrown()) {
+            buffer.ascii(",\"thrown\":\"");
+            throwable(record.getThrown(), buffer);
+            buffer.write('"');
+        }
+        buffer.ascii("}\n");
+    }
+
+    private static void key(String key, ByteBuffer buffer) {
+        int start = 0;
+        while (start < key.length() && '_' == key.charAt(start)) {
+            start++;
+        }
+        if (FIXED_FIELDS.contains(0 == start ? key : key.substring(start))) {
+            buffer.string('_' + key);
+        } else {
+            buffer.string(key);
+        }
+    }
+
+    private static void value(Object value, ByteBuffer buffer) {
+        if (null == value) {
+            buffer.ascii("null");
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short
+                || value instanceof Byte) {
+            buffer.number(((Number) value).longValue());
+        } else if (value instanceof Boolean) {
+            buffer.ascii(value.toString());
+        } else if (isRawNumber(value)) {
+            buffer.ascii(value.toString());
+        } else {
+            buffer.string(String.valueOf(value));
+        }
+    }
+
+    /**
+     * @return {@code true} if the given value is a number of the JDK whose {@link Object#toString()}
+     *         is a valid JSON number. Other {@link Number} implementations may return anything.
+     */
+    private static boolean isRawNumber(Object value) {
+        if (value instanceof Double || value instanceof Float) {
+            return Double.isFinite(((Number) value).doubleValue());
+        }
+        return value instanceof BigDecimal || value instanceof BigInteger;
+    }
+
+    private static void throwable(Throwable throwable, ByteBuffer buffer) {
+        Throwable current = throwable;
+        boolean first = true;
+        while (null != current) {
+            if (!first) {
+                buffer.escaped("\nCaused by: ");
+            }
+            buffer.escaped(current.toString());
+            for (StackTraceElement element : current.getStackTrace()) {
+                buffer.escaped("\n\tat ");
+                buffer.escaped(element.toString());
+            }
+            first = false;
+            current = current.getCause() == current ? null : current.getCause();
+        }
+    }
+
+    /**
+     * Growable byte array with UTF-8 and JSON encoding, reused per thread.
+     */
+    private static final class ByteBuffer {
+
+        private byte[] bytes = new byte[INITIAL_CAPACITY];
+
+        private int size;
+
+        private boolean inUse;
+
+        void reset() {
+            size = 0;
+            inUse = false;
+            if (bytes.length > MAX_RETAINED_CAPACITY) {
+                bytes = new byte[INITIAL_CAPACITY];
+            }
+        }
+
+        void write(int value) {
+            ensureCapacity(1);
+            bytes[size++] = (byte) value;
+        }
+
+        /** Writes the given value without any escaping, must only contain ASCII characters. */
+        void ascii(String value) {
+            ensureCapacity(value.length());
+            for (int index = 0; index < value.length(); index++) {
+                bytes[size++] = (byte) value.charAt(index);
+            }
+        }
+
+        void number(long value) {
+            if (Long.MIN_VALUE == value) {
+                ascii(Long.toString(value));
+                return;
+            }
+            long remaining = value;
+            if (remaining < 0) {
+                write('-');
+                remaining = -remaining;
+            }
+            int digits = 1;
+            for (long limit = 10; digits < 19 && remaining >= limit; limit *= 10) {
+                digits++;
+            }
+            ensureCapacity(digits);
+            for (int index = size + digits - 1; index >= size; index--) {
+                bytes[index] = (byte) ('0' + remaining % 10);
+                remaining /= 10;
+            }
+            size += digits;
+        }
+
+        void string(String value) {
+            if (null == value) {
+                ascii("null");
+                return;
+            }
+            write('"');
+            escaped(value);
+            write('"');
+        }
+
+        /** Writes the given value JSON-escaped and UTF-8 encoded, without quotes. */
+        void escaped(String value) {
+            ensureCapacity(value.length());
+            for (int index = 0; index < value.length(); index++) {
+                char current = value.charAt(index);
+                if (current >= 0x20 && current < 0x80 && current != '"' && current != '\\') {
+                    write(current);
+                } else if (current < 0x80) {
+                    control(current);
+                } else if (current < 0x800) {
+                    write(0xC0 | current >> 6);
+                    write(0x80 | current & 0x3F);
+                } else if (Character.isHighSurrogate(current) && index + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(index + 1))) {
+                    int codePoint = Character.toCodePoint(current, value.charAt(++index));
+                    write(0xF0 | codePoint >> 18);
+                    write(0x80 | codePoint >> 12 & 0x3F);
+                    write(0x80 | codePoint >> 6 & 0x3F);
+                    write(0x80 | codePoint & 0x3F);
+                } else if (Character.isSurrogate(current)) {
+                    // Unpaired surrogate, replaced like the JDK encoder does
+                    write('?');
+                } else {
+                    write(0xE0 | current >> 12);
+                    write(0x80 | current >> 6 & 0x3F);
+                    write(0x80 | current & 0x3F);
+                }
+            }
+        }
+
+        private void control(char current) {
+            write('\\');
+            switch (current) {
+                case '"':
+                    write('"');
+                    break;
+                case '\\':
+                    write('\\');
+                    break;
+                case '\n':
+                    write('n');
+                    break;
+                case '\r':
+                    write('r');
+                    break;
+                case '\t':
+                    write('t');
+                    break;
+                default:
+                    write('u');
+                    write('0');
+                    write('0');
+                    write(HEX[current >> 4]);
+                    write(HEX[current & 0xF]);
+            }
+        }
+
+        private void ensureCapacity(int additional) {
+            if (size + additional > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package de.icw.util.logging;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.logging.LogRecord;
+
+/**
+ * <p>
+ * Structured log-event, created by {@link Logger#atInfo()} and its siblings. Key/value pairs are
+ * collected with {@link #with(String, Object)}, one of the {@code log} methods finally publishes a
+ * {@link LogRecord} carrying the pairs as {@link Map.Entry}s in {@link LogRecord#getParameters()}.
+ * </p>
+ * <p>
+ * In order to keep the allocations low each thread reuses a single instance. Therefore an event
+ * must be completed by a {@code log} method and must not be kept or passed to other threads. In case
+ * the level is not enabled or the event is suppressed by a rate-limited or sampled {@link Logger} a
+ * shared instance is returned that ignores all calls.
+ * </p>
+ *
+ * @author Oliver Wolff
+ *
+ */
+public final class LogEvent {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private static final LogEvent DISABLED = new LogEvent();
+
+    private static final ThreadLocal<LogEvent> POOL = ThreadLocal.withInitial(LogEvent::new);
+
+    private Logger logger;
+
+    private LogLevel level;
+
+    private Throwable throwable;
+
+    private String[] keys = new String[INITIAL_CAPACITY];
+
+    private Object[] values = new Object[INITIAL_CAPACITY];
+
+    private int size;
+
+    private boolean inUse;
+
+    private LogEvent() {
+    }
+
+    /**
+     * @param logger to be used, must not be null
+     * @param level of the event, must not be null
+     * @return the pooled event of the current thread, or {@link #DISABLED} if the level is not
+     *         enabled
+     */
+    static LogEvent start(Logger logger, LogLevel level) {
+        if (!level.isEnabled(logger) || !logger.tryAcquire(level)) {
+            return DISABLED;
+        }
+        LogEvent event = POOL.get();
+        if (event.inUse) {
+            // Nested event, e.g. created while computing a value of the outer one
+            event = new LogEvent();
+        }
+        event.inUse = true;
+        event.logger = logger;
+        event.level = level;
+        return event;
+    }
+
+    /**
+     * Adds a key/value pair to the event.
+     *
+     * @param key must not be null
+     * @param value may be null
+     * @return the event itself
+     */
+    public LogEvent with(String key, Object value) {
+        if (DISABLED == this) {
+            return this;
+        }
+        requireNonNull(key, "key");
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        keys[size] = key;
+        values[size] = value;
+        size++;
+        return this;
+    }
+
+    /**
+     * @param throwable to be attached to the event
+     * @return the event itself
+     */
+    public LogEvent withThrowable(Throwable throwable) {
+        if (DISABLED != this) {
+            this.throwable = throwable;
+        }
+        return this;
+    }
+
+    /**
+     * Publishes the event with the given message. The message is published verbatim like by
+     * {@link Logger#info(String)}, a placeholder '{}' is not resolved.
+     *
+     * @param message to be logged
+     */
+    public void log(String message) {
+        if (DISABLED != this) {
+            try {
+                publish(new LogRecord(level.getJuliLevel(), message));
+            } finally {
+                release();
+            }
+        }
+    }
+
+    /**
+     * Publishes the event with the formatted message, see {@link Logger} for details on formatting.
+     *
+     * @param template to be used for formatting
+     * @param parameter to be used for replacing the placeholder
+     */
+    public void log(String template, Object parameter) {
+        if (DISABLED != this) {
+            publish(MessageTemplate.of(template), parameter);
+        }
+    }
+
+    /**
+     * Publishes the event with the formatted message, see {@link Logger} for details on formatting.
+     *
+     * @param template to be used for formatting
+     * @param first parameter to be used for replacing the placeholder
+     * @param second parameter to be used for replacing the placeholder
+     */
+    public void log(String template, Object first, Object second) {
+        if (DISABLED != this) {
+            publish(MessageTemplate.of(template), first, second);
+        }
+    }
+
+    /**
+     * Publishes the event with the formatted message, see {@link Logger} for details on formatting.
+     *
+     * @param template to be used for formatting
+     * @param parameter to be used for replacing the placeholder
+     */
+    public void log(String template, Object... parameter) {
+        if (DISABLED != this) {
+            publish(MessageTemplate.of(template), parameter);
+        }
+    }
+
+    private void publish(MessageTemplate template, Object... parameter) {
+        try {
+            publish(logger.createRecord(level, template, parameter));
+        } finally {
+            release();
+        }
+    }
+
+    private void publish(LogRecord record) {
+        record.setThrown(throwable);
+        record.setParameters(createEntries(logger.isDispatchedAsync()));
+        logger.publish(level, record);
+    }
+
+    private Object[] createEntries(boolean snapshot) {
+        Object[] entryValues = values;
+        if (snapshot) {
+            entryValues = MessageTemplate.snapshot(Arrays.copyOf(values, size));
+        }
+        Object[] entries = new Object[size];
+        for (int index = 0; index < size; index++) {
+            entries[index] = new SimpleImmutableEntry<>(keys[index], entryValues[index]);
+        }
+        return entries;
+    }
+
+    private void release() {
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+        logger = null;
+        level = null;
+        throwable = null;
+        inUse = false;
+    }
+}
@@ -1,11 +1,7 @@
 package de.icw.util.logging;
 
-import static com.google.common.base.Strings.nullToEmpty;
-
+import java.util.function.Supplier;
 import java.util.logging.Level;
-import java.util.logging.Logger;
-
-import com.google.common.base.Strings;
 
 /**
  * Defines the log-levels with implicit mapping
@@ -31,10 +27,27 @@ enum LogLevel {
      */
     private LogLevel(Level juliLevel) {
         this.juliLevel = juliLevel;
+        this.levelValue = juliLevel.intValue();
     }
 
     private final Level juliLevel;
 
+    private final int levelValue;
+
+    /**
+     * @param juliLevel to be looked up
+     * @return the {@link LogLevel} mapping to the given {@link Level}, or {@code null} if there is
+     *         none
+     */
+    static LogLevel forJuliLevel(Level juliLevel) {
+        for (LogLevel level : values()) {
+            if (level.juliLevel.equals(juliLevel)) {
+                return level;
+            }
+        }
+        return null;
+    }
+
     /**
      * @return the Log-level representation of the log-level
      */
@@ -48,7 +61,7 @@ enum LogLevel {
      * @return {@code true} if the log-level is enable on the logger, false otherwise
      */
     public boolean isEnabled(Logger logger) {
-        return logger.isLoggable(getJuliLevel());
+        return logger.getEffectiveLevel().isEnabled(levelValue);
     }
 
     /**
@@ -58,7 +71,9 @@ enum LogLevel {
      * @param message must not be null
      */
     public void log(Logger logger, String message) {
-        logger.log(getJuliLevel(), message);
+        if (isEnabled(logger) && logger.tryAcquire(this)) {
+            logger.dispatch(this, message, null);
+        }
     }
 
     /**
@@ -69,7 +84,51 @@ enum LogLevel {
      * @param throwable to be logged
      */
     public void log(Logger logger, String message, Throwable throwable) {
-        logger.log(getJuliLevel(), message, throwable);
+        if (isEnabled(logger) && logger.tryAcquire(this)) {
+            logger.dispatch(this, message, throwable);
+        }
+    }
+
+    /**
+     * Logs the supplied message
+     *
+     * @param logger to be used, must not be null
+     * @param message supplying the message, must not be null
+     * @param throwable to be logged, may be null
+     */
+    public void log(Logger logger, Supplier<String> message, Throwable throwable) {
+        if (isEnabled(logger) && logger.tryAcquire(this)) {
+            logger.dispatch(this, message.get(), throwable);
+        }
+    }
+
+    /**
+     * Logs the formatted message. The parameter are only supplied if the log-level is enabled.
+     *
+     * @param logger to be used, must not be null
+     * @param template to be used for formatting
+     * @param parameter supplying the parameter, must not be null
+     */
+    @SuppressWarnings("squid:S2629") // False positive, logger state explicitly checked
+    public void log(Logger logger, String template, Supplier<Object[]> parameter) {
+        if (isEnabled(logger) && logger.tryAcquire(this)) {
+            logger.dispatch(this, null, MessageTemplate.of(template), parameter.get());
+        }
+    }
+
+    /**
+     * Logs the formatted message together with the given {@link Throwable}
+     *
+     * @param logger to be used, must not be null
+     * @param throwable to be logged
+     * @param template to be used for formatting
+     * @param parameter to be used for replacing the placeholder
+     */
+    @SuppressWarnings("squid:S2629") // False positive, logger state explicitly checked
+    public void log(Logger logger, Throwable throwable, String template, Object... parameter) {
+        if (isEnabled(logger) && logger.tryAcquire(this)) {
+            logger.dispatch(this, throwable, MessageTemplate.of(template), parameter);
+        }
     }
 
     /**
@@ -79,10 +138,56 @@ enum LogLevel {
      */
     @SuppressWarnings("squid:S2629") // False positive, logger state explicitly checked
     public void log(Logger logger, String template, Object... parameter) {
-        if (isEnabled(logger)) {
-            String replacedTemplate =
-                de.icw.util.logging.Logger.SLF4J_PATTERN.matcher(nullToEmpty(template)).replaceAll("%s");
-            logger.log(getJuliLevel(), Strings.lenientFormat(replacedTemplate, parameter));
+        if (isEnabled(logger) && logger.tryAcquire(this)) {
+            logger.dispatch(this, null, MessageTemplate.of(template), parameter);
+        }
+    }
+
+    /**
+     * Logs the formatted message. The parameter-array for formatting is only created if the
+     * log-level is enabled.
+     *
+     * @param logger to be used, must not be null
+     * @param template to be used for formatting
+     * @param parameter to be used for replacing the placeholder
+     */
+    @SuppressWarnings("squid:S2629") // False positive, logger state explicitly checked
+    public void log(Logger logger, String template, Object parameter) {
+        if (isEnabled(logger) && logger.tryAcquire(this)) {
+            logger.dispatch(this, null, MessageTemplate.of(template), parameter);
+        }
+    }
+
+    /**
+     * Logs the formatted message. The parameter-array for formatting is only created if the
+     * log-level is enabled.
+     *
+     * @param logger to be used, must not be null
+     * @param template to be used for formatting
+     * @param first parameter to be used for replacing the placeholder
+     * @param second parameter to be used for replacing the placeholder
+     */
+    @SuppressWarnings("squid:S2629") // False positive, logger state explicitly checked
+    public void log(Logger logger, String template, Object first, Object second) {
+        if (isEnabled(logger) && logger.tryAcquire(this)) {
+            logger.dispatch(this, null, MessageTemplate.of(template), first, second);
+        }
+    }
+
+    /**
+     * Logs the formatted message. The parameter-array for formatting is only created if the
+     * log-level is enabled.
+     *
+     * @param logger to be used, must not be null
+     * @param template to be used for formatting
+     * @param first parameter to be used for replacing the placeholder
+     * @param second parameter to be used for replacing the placeholder
+     * @param third parameter to be used for replacing the placeholder
+     */
+    @SuppressWarnings("squid:S2629") // False positive, logger state explicitly checked
+    public void log(Logger logger, String template, Object first, Object second, Object third) {
+        if (isEnabled(logger) && logger.tryAcquire(this)) {
+            logger.dispatch(this, null, MessageTemplate.of(template), first, second, third);
         }
     }
 }
@@ -0,0 +1,186 @@
+package de.icw.util.logging;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+/**
+ * <p>
+ * Collects metrics on the records published by {@link Logger}s: Per logger name and level the
+ * number of records, the length of the rendered messages and the time spent in the
+ * {@link java.util.logging.Handler}s. For records dispatched by an {@link AsyncLogDispatcher} the
+ * latter is measured on the consumer thread.
+ * </p>
+ * <p>
+ * Collecting is disabled by default, in that case the overhead is a single read of a volatile
+ * field per published record. The counters are {@link java.util.concurrent.atomic.LongAdder}s, so
+ * concurrent logging threads do not contend on them.
+ * </p>
+ * <h2>Using</h2>
+ *
+ * <pre>
+ * <code>
+ * LogMetrics.enable();
+ * LogMetrics.registerMBean();
+ * ...
+ * List&lt;LoggerMetrics&gt; metrics = LogMetrics.snapshot();
+ * </code>
+ * </pre>
+ *
+ * @author Oliver Wolff
+ *
+ */
+public final class LogMetrics {
+
+    /** The name the {@link LogMetricsMXBean} is registered with. */
+    public static final String OBJECT_NAME = "de.icw.util.logging:type=LogMetrics";
+
+    private static final Logger LOG = new Logger(LogMetrics.class);
+
+    private static final ConcurrentMap<String, LoggerCounters> COUNTERS = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled;
+
+    private LogMetrics() {
+        // Utility class
+    }
+
+    /**
+     * Starts collecting metrics.
+     */
+    public static void enable() {
+        enabled = true;
+    }
+
+    /**
+     * Stops collecting metrics, the collected ones are kept.
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * @return {@code true} if metrics are collected
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the metrics of all logger names and levels with at least one record, sorted by
+     *         logger name and level
+     */
+    public static List<LoggerMetrics> snapshot() {
+        List<LoggerMetrics> result = new ArrayList<>();
+        for (LoggerCounters counters : COUNTERS.values()) {
+            counters.snapshotTo(result);
+        }
+        result.sort(Comparator.comparing(LoggerMetrics::getLoggerName)
+                .thenComparing(metrics -> LogLevel.valueOf(metrics.getLevel())));
+        return result;
+    }
+
+    /**
+     * Resets all counters.
+     */
+    public static void reset() {
+        for (LoggerCounters counters : COUNTERS.values()) {
+            counters.reset();
+        }
+    }
+
+    /**
+     * Registers a {@link LogMetricsMXBean} at the platform {@link MBeanServer} with the name
+     * {@link #OBJECT_NAME}. Does nothing if it is already registered.
+     *
+     * @throws IllegalStateException if the registration fails
+     */
+    public static void registerMBean() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(new StandardMBean(new Management(), LogMetricsMXBean.class, true),
+                    createObjectName());
+        } catch (InstanceAlreadyExistsException e) {
+            LOG.debug("LogMetrics already registered", e);
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to register " + OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * Unregisters the {@link LogMetricsMXBean}. Does nothing if it is not registered.
+     *
+     * @throws IllegalStateException if the unregistration fails
+     */
+    public static void unregisterMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(createObjectName());
+        } catch (InstanceNotFoundException e) {
+            LOG.debug("LogMetrics not registered", e);
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to unregister " + OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * @param loggerName must not be null
+     * @return the counters for the given logger name, to be cached by the caller
+     */
+    static LoggerCounters counters(String loggerName) {
+        return COUNTERS.computeIfAbsent(loggerName, LoggerCounters::new);
+    }
+
+    /**
+     * Counts a record published by an {@link AsyncLogDispatcher}, records with a level not
+     * corresponding to a {@link LogLevel} are ignored.
+     */
+    static void record(java.util.logging.Logger logger, Level level, String message, long nanos) {
+        LogLevel logLevel = LogLevel.forJuliLevel(level);
+        if (null != logLevel) {
+            counters(logger.getName()).record(logLevel, message, nanos);
+        }
+    }
+
+    private static ObjectName createObjectName() throws MalformedObjectNameException {
+        return new ObjectName(OBJECT_NAME);
+    }
+
+    private static final class Management implements LogMetricsMXBean {
+
+        @Override
+        public boolean isEnabled() {
+            return LogMetrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            if (enabled) {
+                enable();
+            } else {
+                disable();
+            }
+        }
+
+        @Override
+        public List<LoggerMetrics> getMetrics() {
+            return snapshot();
+        }
+
+        @Override
+        public void reset() {
+            LogMetrics.reset();
+        }
+    }
+}
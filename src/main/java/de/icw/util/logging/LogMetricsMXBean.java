@@ -0,0 +1,32 @@
+package de.icw.util.logging;
+
+import java.util.List;
+
+/**
+ * Management interface of {@link LogMetrics}, registered by {@link LogMetrics#registerMBean()}.
+ *
+ * @author Oliver Wolff
+ *
+ */
+public interface LogMetricsMXBean {
+
+    /**
+     * @return {@code true} if metrics are collected
+     */
+    boolean isEnabled();
+
+    /**
+     * @param enabled whether metrics are to be collected
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * @return see {@link LogMetrics#snapshot()}
+     */
+    List<LoggerMetrics> getMetrics();
+
+    /**
+     * Resets all counters.
+     */
+    void reset();
+}
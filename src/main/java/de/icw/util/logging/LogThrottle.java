@@ -0,0 +1,169 @@
+package de.icw.util.logging;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides whether a message passes a rate-limited or sampled {@link Logger}, see
+ * {@link Logger#rateLimited(int, long, TimeUnit)} and {@link Logger#sampled(double)}. The
+ * suppressed messages are counted, {@link #pollSuppressed()} hands the count out at most once per
+ * summary interval, in order to be reported by a summary message.
+ *
+ * @author Oliver Wolff
+ *
+ */
+abstract class LogThrottle {
+
+    /** Minimum time between two summaries of suppressed messages. */
+    static final long SUMMARY_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final LongSupplier clock;
+
+    private final LongAdder suppressed = new LongAdder();
+
+    private final AtomicLong nextSummary;
+
+    /** Only written by the thread that won the summary slot */
+    private volatile long reported;
+
+    LogThrottle(LongSupplier clock) {
+        this.clock = requireNonNull(clock);
+        nextSummary = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * @return {@code true} if the message is to be logged, otherwise it is counted as suppressed
+     */
+    boolean tryAcquire() {
+        if (doAcquire()) {
+            return true;
+        }
+        suppressed.increment();
+        return false;
+    }
+
+    abstract boolean doAcquire();
+
+    /**
+     * @return the number of messages suppressed since the last summary, or 0 in case there are none
+     *         or the summary interval is not yet elapsed. Only one of concurrent callers gets the
+     *         count.
+     */
+    long pollSuppressed() {
+        long total = suppressed.sum();
+        if (total == reported) {
+            return 0;
+        }
+        long now = clock.getAsLong();
+        long next = nextSummary.get();
+        if (now - next < 0 || !nextSummary.compareAndSet(next, now + SUMMARY_INTERVAL_NANOS)) {
+            return 0;
+        }
+        long count = total - reported;
+        reported = total;
+        return count;
+    }
+
+    /**
+     * @return the total number of suppressed messages
+     */
+    long getSuppressed() {
+        return suppressed.sum();
+    }
+
+    long now() {
+        return clock.getAsLong();
+    }
+
+    /**
+     * @param permits number of messages per period, must be positive
+     * @param period must be positive
+     * @param unit of the period, must not be null
+     * @param clock providing nanoseconds, usually {@link System#nanoTime()}
+     * @return a token bucket allowing bursts of up to {@code permits} messages
+     */
+    static LogThrottle rateLimit(int permits, long period, TimeUnit unit, LongSupplier clock) {
+        return new TokenBucket(permits, period, unit, clock);
+    }
+
+    /**
+     * @param rate probability of a message to be logged, must be greater than 0 and at most 1
+     * @param clock providing nanoseconds, usually {@link System#nanoTime()}
+     * @return a throttle letting the given fraction of messages pass
+     */
+    static LogThrottle sample(double rate, LongSupplier clock) {
+        return new Sampler(rate, clock);
+    }
+
+    /**
+     * Token bucket refilled lazily on acquiring: The thread winning the compare and set of the
+     * refill timestamp adds the tokens accumulated since then. Taking a token is a compare and set
+     * on the token count.
+     */
+    private static final class TokenBucket extends LogThrottle {
+
+        private final int capacity;
+
+        private final long nanosPerToken;
+
+        private final AtomicLong tokens;
+
+        private final AtomicLong lastRefill;
+
+        TokenBucket(int permits, long period, TimeUnit unit, LongSupplier clock) {
+            super(clock);
+            checkArgument(permits > 0, "Permits must be positive: %s", permits);
+            checkArgument(period > 0, "Period must be positive: %s", period);
+            capacity = permits;
+            nanosPerToken = Math.max(1, requireNonNull(unit).toNanos(period) / permits);
+            tokens = new AtomicLong(permits);
+            lastRefill = new AtomicLong(now());
+        }
+
+        @Override
+        boolean doAcquire() {
+            refill();
+            long available = tokens.get();
+            while (available > 0) {
+                if (tokens.compareAndSet(available, available - 1)) {
+                    return true;
+                }
+                available = tokens.get();
+            }
+            return false;
+        }
+
+        private void refill() {
+            long last = lastRefill.get();
+            long newTokens = (now() - last) / nanosPerToken;
+            if (newTokens <= 0) {
+                return;
+            }
+            if (lastRefill.compareAndSet(last, last + newTokens * nanosPerToken)) {
+                tokens.accumulateAndGet(newTokens, (current, added) -> Math.min(capacity, current + added));
+            }
+        }
+    }
+
+    private static final class Sampler extends LogThrottle {
+
+        private final double rate;
+
+        Sampler(double rate, LongSupplier clock) {
+            super(clock);
+            checkArgument(rate > 0 && rate <= 1, "Rate must be within (0, 1]: %s", rate);
+            this.rate = rate;
+        }
+
+        @Override
+        boolean doAcquire() {
+            return rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate;
+        }
+    }
+}
@@ -3,9 +3,15 @@ package de.icw.util.logging;
 import static com.google.common.base.Strings.nullToEmpty;
 import static java.util.Objects.requireNonNull;
 
-import java.util.regex.Pattern;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.MapMaker;
 
 /**
  * <p>
@@ -21,12 +27,66 @@ import com.google.common.base.Strings;
  * <p>
  * {@code private static final Logger LOG = new Logger("SomeLoggerName");}
  * </p>
+ * <p>
+ * In case loggers are not kept in static fields, e.g. created per instance, {@link #forClass(Class)}
+ * and {@link #forName(String)} return cached instances instead of creating new ones.
+ * {@link #getLoggerLevels()} lists all existing loggers with their effective level.
+ * </p>
  * <h2>Formatting</h2>
  * <p>
  * Like slf4j there is a simple way of formatting log-messages. In addition to {@code {}} the
- * formatting supports {@code "%s"} as well. At runtime it replaces the {@code {}} tokens with
- * {@code "%s"} and passes the data to {@link Strings#lenientFormat(String, Object...)} for creating
- * the log-message
+ * formatting supports {@code "%s"} as well. The output is the same as
+ * {@link Strings#lenientFormat(String, Object...)} with the {@code {}} tokens replaced by
+ * {@code "%s"}. Each distinct template is parsed only once, the formatting itself is done only if
+ * the corresponding log-level is enabled. For expensive messages or parameter there are variants
+ * taking a {@link Supplier} that is only called if the log-level is enabled:
+ * </p>
+ * <p>
+ * {@code LOG.debug("Current state: {}", () -> new Object[] { computeState() });}
+ * </p>
+ * <h2>Structured logging</h2>
+ * <p>
+ * Key/value pairs can be attached to a message using a fluent api:
+ * </p>
+ * <p>
+ * {@code LOG.atInfo().with("orderId", orderId).with("items", count).log("Order {} processed", orderId);}
+ * </p>
+ * <p>
+ * The pairs are passed as {@link java.util.Map.Entry}s to {@link LogRecord#getParameters()}, see
+ * {@link JsonLinesFormatter} for writing them as JSON.
+ * </p>
+ * <h2>Levels</h2>
+ * <p>
+ * The check whether a level is enabled works on a cached snapshot of the effective level of the
+ * wrapped {@link java.util.logging.Logger}. The snapshot verifies the levels of the parent chain it
+ * was computed from on each check, so levels set directly on a {@link java.util.logging.Logger},
+ * e.g. by configuration or JMX, take effect immediately.
+ * </p>
+ * <h2>Asynchronous logging</h2>
+ * <p>
+ * By default the records are published on the calling thread. Using
+ * {@link #setDefaultDispatcher(AsyncLogDispatcher)} or {@link #setDispatcher(AsyncLogDispatcher)}
+ * they are handed over to an {@link AsyncLogDispatcher} instead.
+ * </p>
+ * <h2>Metrics</h2>
+ * <p>
+ * The number of records, the length of the messages and the time spent in the handlers can be
+ * collected per logger and level, see {@link LogMetrics}.
+ * </p>
+ * <h2>Rate limiting and sampling</h2>
+ * <p>
+ * For call-sites that may flood the log, e.g. under failure storms,
+ * {@link #rateLimited(int, long, TimeUnit)} and {@link #sampled(double)} create views on a logger
+ * that let only a limited number or a fraction of the messages pass. The views are meant to be
+ * stored per call-site:
+ * </p>
+ * <p>
+ * {@code private static final Logger CLOSE_LOG = LOG.rateLimited(10, 1, TimeUnit.MINUTES);}
+ * </p>
+ * <p>
+ * Suppressed messages are neither formatted nor are their {@link Supplier}s called. Their number is
+ * reported by a summary message, logged at most once a minute together with the next message
+ * passing the view.
  * </p>
  *
  * @author Oliver Wolff
@@ -34,9 +94,27 @@ import com.google.common.base.Strings;
  */
 public class Logger {
 
+    private static final MessageTemplate SUPPRESSED_TEMPLATE =
+        MessageTemplate.of("Suppressed {} log messages since the last summary");
+
+    /** Instances are only kept as long as they are referenced elsewhere */
+    private static final ConcurrentMap<String, Logger> CACHE = new MapMaker().weakValues().makeMap();
+
     private final java.util.logging.Logger delegate;
 
-    static final Pattern SLF4J_PATTERN = Pattern.compile(Pattern.quote("{}"));
+    private final EffectiveLevel effectiveLevel;
+
+    /** The logger this one is a view of, or the logger itself */
+    private final Logger origin;
+
+    private final LogThrottle throttle;
+
+    private static volatile AsyncLogDispatcher defaultDispatcher;
+
+    private volatile AsyncLogDispatcher dispatcher;
+
+    /** Lazily resolved on the logger views are created from, see {@link LogMetrics} */
+    private volatile LoggerCounters counters;
 
     /**
      * @param name to be used for acquiring a concrete {@link java.util.logging.Logger} instance.
@@ -45,6 +123,9 @@ public class Logger {
     public Logger(Class<?> name) {
         requireNonNull(name);
         delegate = java.util.logging.Logger.getLogger(name.getName());
+        effectiveLevel = new EffectiveLevel(delegate);
+        origin = this;
+        throttle = null;
     }
 
     /**
@@ -54,6 +135,93 @@ public class Logger {
     public Logger(String name) {
         requireNonNull(nullToEmpty(name));
         delegate = java.util.logging.Logger.getLogger(name);
+        effectiveLevel = new EffectiveLevel(delegate);
+        origin = this;
+        throttle = null;
+    }
+
+    /**
+     * Returns a cached {@link Logger} for the given type. In contrast to {@link #Logger(Class)}
+     * repeated lookups do not need to acquire the lock of the {@link java.util.logging.LogManager}.
+     *
+     * @param type to be used for naming the logger, must not be null
+     * @return the {@link Logger} for the given type
+     */
+    public static Logger forClass(Class<?> type) {
+        return forName(requireNonNull(type).getName());
+    }
+
+    /**
+     * Returns a cached {@link Logger} for the given name. In contrast to {@link #Logger(String)}
+     * repeated lookups do not need to acquire the lock of the {@link java.util.logging.LogManager}.
+     *
+     * @param name of the logger, must not be null
+     * @return the {@link Logger} for the given name
+     */
+    public static Logger forName(String name) {
+        requireNonNull(name);
+        Logger logger = CACHE.get(name);
+        if (null == logger) {
+            Logger created = new Logger(name);
+            logger = CACHE.putIfAbsent(name, created);
+            if (null == logger) {
+                logger = created;
+            }
+        }
+        return logger;
+    }
+
+    /**
+     * Lists all existing {@link Logger}s, regardless whether they are created by a constructor or
+     * {@link #forName(String)}, for runtime tuning. The levels can be changed using
+     * {@link #forName(String)} and {@link #setLevel(Level)}.
+     *
+     * @return a snapshot of the names of all existing loggers together with their effective level,
+     *         sorted by name
+     */
+    public static SortedMap<String, Level> getLoggerLevels() {
+        return EffectiveLevel.snapshotAll();
+    }
+
+    private Logger(Logger origin, LogThrottle throttle) {
+        delegate = origin.delegate;
+        effectiveLevel = origin.effectiveLevel;
+        this.origin = origin.origin;
+        this.throttle = throttle;
+    }
+
+    /**
+     * Creates a view on this logger that lets at most {@code permits} messages per period pass,
+     * allowing bursts of up to {@code permits} messages. The view shares level and dispatcher with
+     * this logger, see class-documentation for details.
+     *
+     * @param permits number of messages per period, must be positive
+     * @param period must be positive
+     * @param unit of the period, must not be null
+     * @return the rate-limited view
+     */
+    public Logger rateLimited(int permits, long period, TimeUnit unit) {
+        return new Logger(this, LogThrottle.rateLimit(permits, period, unit, System::nanoTime));
+    }
+
+    /**
+     * Creates a view on this logger that lets the given fraction of the messages pass, chosen at
+     * random. The view shares level and dispatcher with this logger, see class-documentation for
+     * details.
+     *
+     * @param rate probability of a message to be logged, must be greater than 0 and at most 1
+     * @return the sampled view
+     */
+    public Logger sampled(double rate) {
+        return new Logger(this, LogThrottle.sample(rate, System::nanoTime));
+    }
+
+    /**
+     * @return the number of messages suppressed by this view, 0 for loggers that are neither
+     *         rate-limited nor sampled
+     */
+    public long getSuppressedMessages() {
+        return null == throttle ? 0 : throttle.getSuppressed();
     }
 
     /**
@@ -64,7 +232,17 @@ public class Logger {
      *
      */
     public boolean isTraceEnabled() {
-        return LogLevel.TRACE.isEnabled(delegate);
+        return LogLevel.TRACE.isEnabled(this);
+    }
+
+    /**
+     * Starts a structured log-event at the trace level, see class-documentation for details.
+     *
+     * @return the {@link LogEvent} to be completed by one of its {@code log} methods. In case the
+     *         trace level is not enabled it is a shared instance ignoring all calls.
+     */
+    public LogEvent atTrace() {
+        return LogEvent.start(this, LogLevel.TRACE);
     }
 
     /**
@@ -74,7 +252,7 @@ public class Logger {
      *
      */
     public void trace(String msg) {
-        LogLevel.TRACE.log(delegate, msg);
+        LogLevel.TRACE.log(this, msg);
     }
 
     /**
@@ -85,7 +263,7 @@ public class Logger {
      *
      */
     public void trace(String msg, Throwable throwable) {
-        LogLevel.TRACE.log(delegate, msg, throwable);
+        LogLevel.TRACE.log(this, msg, throwable);
     }
 
     /**
@@ -96,7 +274,94 @@ public class Logger {
      *
      */
     public void trace(String template, Object... parameter) {
-        LogLevel.TRACE.log(delegate, template, parameter);
+        LogLevel.TRACE.log(this, template, parameter);
+    }
+
+    /**
+     * Log a message at the trace level. In contrast to {@link #trace(String, Object...)} no
+     * parameter-array will be created if the trace level is not enabled.
+     *
+     * @param template to be used for formatting, see class-documentation for details on formatting
+     * @param parameter to be used for replacing the placeholder
+     *
+     */
+    public void trace(String template, Object parameter) {
+        LogLevel.TRACE.log(this, template, parameter);
+    }
+
+    /**
+     * Log a message at the trace level. In contrast to {@link #trace(String, Object...)} no
+     * parameter-array will be created if the trace level is not enabled.
+     *
+     * @param template to be used for formatting, see class-documentation for details on formatting
+     * @param first parameter to be used for replacing the placeholder
+     * @param second parameter to be used for replacing the placeholder
+     *
+     */
+    public void trace(String template, Object first, Object second) {
+        LogLevel.TRACE.log(this, template, first, second);
+    }
+
+    /**
+     * Log a message at the trace level. In contrast to {@link #trace(String, Object...)} no
+     * parameter-array will be created if the trace level is not enabled.
+     *
+     * @param template to be used for formatting, see class-documentation for details on formatting
+     * @param first parameter to be used for replacing the placeholder
+     * @param second parameter to be used for replacing the placeholder
+     * @param third parameter to be used for replacing the placeholder
+     *
+     */
+    public void trace(String template, Object first, Object second, Object third) {
+        LogLevel.TRACE.log(this, template, first, second, third);
+    }
+
+    /**
+     * Log a message at the trace level. The message will only be created if the trace level is
+     * enabled.
+     *
+     * @param message supplying the message to be logged, must not be null
+     *
+     */
+    public void trace(Supplier<String> message) {
+        LogLevel.TRACE.log(this, message, null);
+    }
+
+    /**
+     * Log a message at the trace level. The message will only be created if the trace level is
+     * enabled.
+     *
+     * @param throwable to be logged
+     * @param message supplying the message to be logged, must not be null
+     *
+     */
+    public void trace(Throwable throwable, Supplier<String> message) {
+        LogLevel.TRACE.log(this, message, throwable);
+    }
+
+    /**
+     * Log a message at the trace level. The parameter will only be created if the trace level is
+     * enabled.
+     *
+     * @param template to be used for formatting, see class-documentation for details on formatting
+     * @param parameter supplying the parameter to be used for replacing the placeholder, must not
+     *            be null
+     *
+     */
+    public void trace(String template, Supplier<Object[]> parameter) {
+        LogLevel.TRACE.log(this, template, parameter);
+    }
+
+    /**
+     * Log a message at the trace level.
+     *
+     * @param throwable to be logged
+     * @param template to be used for formatting, see class-documentation for details on formatting
+     * @param parameter to be used for replacing the placeholder
+     *
+     */
+    public void trace(Throwable throwable, String template, Object... parameter) {
+        LogLevel.TRACE.log(this, throwable, template, parameter);
     }
 
     /**
@@ -107,7 +372,17 @@ public class Logger {
      *
      */
     public boolean isDebugEnabled() {
-        return LogLevel.DEBUG.isEnabled(delegate);
+        return LogLevel.DEBUG.isEnabled(this);
+    }
+
+    /**
+     * Starts a structured log-event at the debug level, see class-documentation for details.
+     *
+     * @return the {@link LogEvent} to be completed by one of its {@code log} methods. In case the
+     *         debug level is not enabled it is a shared instance ignoring all calls.
+     */
+    public LogEvent atDebug() {
+        return LogEvent.start(this, LogLevel.DEBUG);
     }
 
     /**
@@ -116,7 +391,7 @@ public class Logger {
      * @param msg the message string to be logged
      */
     public void debug(String msg) {
-        LogLevel.DEBUG.log(delegate, msg);
+        LogLevel.DEBUG.log(this, msg);
     }
 
     /**
@@ -127,7 +402,7 @@ public class Logger {
      *
      */
     public void debug(String msg, Throwable throwable) {
-        LogLevel.DEBUG.log(delegate, msg, throwable);
+        LogLevel.DEBUG.log(this, msg, throwable);
     }
 
     /**
@@ -138,7 +413,94 @@ public class Logger {
      *
      */
     public void debug(String template, Object... parameter) {
-        LogLevel.DEBUG.log(delegate, template, parameter);
+        LogLevel.DEBUG.log(this, template, parameter);
+    }
+
+    /**
+     * Log a message at the debug level. In contrast to {@link #debug(String, Object...)} no
+     * parameter-array will be created if the debug level is not enabled.
+     *
+     * @param template to be used for formatting, see class-documentation for details on formatting
+     * @param parameter to be used for replacing the placeholder
+     *
+     */
+    public void debug(String template, Object parameter) {
+        LogLevel.DEBUG.log(this, template, parameter);
+    }
+
+    /**
+     * Log a message at the debug level. In contrast to {@link #debug(String, Object...)} no
+     * parameter-array will be created if the debug level is not enabled.
+     *
+     * @param template to be used for formatting, see class-documentation for details on formatting
+     * @param first parameter to be used for replacing the placeholder
+     * @param second parameter to be used for replacing the placeholder
+     *
+     */
+    public void debug(String template, Object first, Object second) {
+        LogLevel.DEBUG.log(this, template, first, second);
+    }
+
+    /**
+     * Log a message at the debug level. In contrast to {@link #debug(String, Object...)} no
+     * parameter-array will be created if the debug level is not enabled.
+     *
+     * @param template to be used for formatting, see class-documentation for details on formatting
+     * @param first parameter to be used for replacing the placeholder
+     * @param second parameter to be used for replacing the placeholder
+     * @param third parameter to be used for replacing the placeholder
+     *
+     */
+    public void debug(String template, Object first, Object second, Object third) {
+        LogLevel.DEBUG.log(this, template, first, second, third);
+    }
+
+    /**
+     * Log a message at the debug level. The message will only be created if the debug level is
+     * enabled.
+     *
+     * @param message supplying the message to be logged, must not be null
+     *
+     */
+    public void debug(Supplier<String> message) {
+        LogLevel.DEBUG.log(this, message, null);
+    }
+
+    /**
+     * Log a message at the debug level. The message will only be created if the debug level is
+     * enabled.
+     *
+     * @param throwable to be logged
+     * @param message supplying the message to be logged, must not be null
+     *
+     */
+    public void debug(Throwable throwable, Supplier<String> message) {
+        LogLevel.DEBUG.log(this, message, throwable);
+    }
+
+    /**
+     * Log a message at the debug level. The parameter will only be created if the debug level is
+     * enabled.
+     *
+     * @param template to be used for formatting, see class-documentation for details on formatting
+     * @param parameter supplying the parameter to be used for replacing the placeholder, must not
+     *            be null
+     *
+     */
+    public void debug(String template, Supplier<Object[]> parameter) {
+        LogLevel.DEBUG.log(this, template, parameter);
+    }
+
+    /**
+     * Log a message at the debug level.
+     *
+     * @param throwable to be logged
+     * @param template to be used for formatting, see class-documentation for details on formatting
+     * @param parameter to be used for replacing the placeholder
+     *
+     */
+    public void debug(Throwable throwable, String template, Object... parameter) {
+        LogLevel.DEBUG.log(this, throwable, template, parameter);
     }
 
     /**
@@ -149,7 +511,17 @@ public class Logger {
      *
      */
     public boolean isInfoEnabled() {
-        return LogLevel.INFO.isEnabled(delegate);
+        return LogLevel.INFO.isEnabled(this);
+    }
+
+    /**
+     * Starts a structured log-event at the info level, see class-documentation for details.
+     *
+     * @return the {@link LogEvent} to be completed by one of its {@code log} methods. In case the
+     *         info level is not enabled it is a shared instance ignoring all calls.
+     */
+    public LogEvent atInfo() {
+        return LogEvent.start(this, LogLevel.INFO);
     }
 
     /**
@@ -158,7 +530,7 @@ public class Logger {
      * @param msg the message string to be logged
      */
     public void info(String msg) {
-        LogLevel.INFO.log(delegate, msg);
+        LogLevel.INFO.log(this, msg);
     }
 
     /**
@@ -169,7 +541,7 @@ public class Logger {
      *
      */
     public void info(String msg, Throwable throwable) {
-        LogLevel.INFO.log(delegate, msg, throwable);
+        LogLevel.INFO.log(this, msg, throwable);
     }
 
     /**
@@ -180,7 +552,94 @@ public class Logger {
      *
      */
     public void info(String template, Object... parameter) {
-        LogLevel.INFO.log(delegate, template, parameter);
+        LogLevel.INFO.log(this, template, parameter);
+    }
+
+    /**
+     * Log a message at the info level. In contrast to {@link #info(String, Object...)} no
+     * parameter-array will be created if the info level is not enabled.
+     *
+     * @param template to be used for formatting, see class-documentation for details on formatting
+     * @param parameter to be used for replacing the placeholder
+     *
+     */
+    public void info(String template, Object parameter) {
+        LogLevel.INFO.log(this, template, parameter);
+    }
+
+    /**
+     * Log a message at the info level. In contrast to {@link #info(String, Object...)} no
+     * parameter-array will be created if the info level is not enabled.
+     *
+     * @param template to be used for formatting, see class-documentation for details on formatting
+     * @param first parameter to be used for replacing the placeholder
+     * @param second parameter to be used for replacing the placeholder
+     *
+     */
+    public void info(String template, Object first, Object second) {
+        LogLevel.INFO.log(this, template, first, second);
+    }
+
+    /**
+     * Log a message at the info level. In contrast to {@link #info(String, Object...)} no
+     * parameter-array will be created if the info level is not enabled.
+     *
+     * @param template to be used for formatting, see class-documentation for details on formatting
+     * @param first parameter to be used for replacing the placeholder
+     * @param second parameter to be used for replacing the placeholder
+     * @param third parameter to be used for replacing the placeholder
+     *
+     */
+    public void info(String template, Object first, Object second, Object third) {
+        LogLevel.INFO.log(this, template, first, second, third);
+    }
+
+    /**
+     * Log a message at the info level. The message will only be created if the info level is
+     * enabled.
+     *
+     * @param message supplying the message to be logged, must not be null
+     *
+     */
+    public void info(Supplier<String> message) {
+        LogLevel.INFO.log(this, message, null);
+    }
+
+    /**
+     * Log a message at the info level. The message will only be created if the info level is
+     * enabled.
+     *
+     * @param throwable to be logged
+     * @param message supplying the message to be logged, must not be null
+     *
+     */
+    public void info(Throwable throwable, Supplier<String> message) {
+        LogLevel.INFO.log(this, message, throwable);
+    }
+
+    /**
+     * Log a message at the info level. The parameter will only be created if the info level is
+     * enabled.
+     *
+     * @param template to be used for formatting, see class-documentation for details on formatting
+     * @param parameter supplying the parameter to be used for replacing the placeholder, must not
+     *            be null
+     *
+     */
+    public void info(String template, Supplier<Object[]> parameter) {
+        LogLevel.INFO.log(this, template, parameter);
+    }
+
+    /**
+     * Log a message at the info level.
+     *
+     * @param throwable to be logged
+     * @param template to be used for formatting, see class-documentation for details on formatting
+     * @param parameter to be used for replacing the placeholder
+     *
+     */
+    public void info(Throwable throwable, String template, Object... parameter) {
+        LogLevel.INFO.log(this, throwable, template, parameter);
     }
 
     /**
@@ -191,7 +650,17 @@ public class Logger {
      *
      */
     public boolean isWarnEnabled() {
-        return LogLevel.WARN.isEnabled(delegate);
+        return LogLevel.WARN.isEnabled(this);
+    }
+
+    /**
+     * Starts a structured log-event at the warn level, see class-documentation for details.
+     *
+     * @return the {@link LogEvent} to be completed by one of its {@code log} methods. In case the
+     *         warn level is not enabled it is a shared instance ignoring all calls.
+     */
+    public LogEvent atWarn() {
+        return LogEvent.start(this, LogLevel.WARN);
     }
 
     /**
@@ -200,7 +669,7 @@ public class Logger {
      * @param msg the message string to be logged
      */
     public void warn(String msg) {
-        LogLevel.WARN.log(delegate, msg);
+        LogLevel.WARN.log(this, msg);
     }
 
     /**
@@ -211,7 +680,7 @@ public class Logger {
      *
      */
     public void warn(String msg, Throwable throwable) {
-        LogLevel.WARN.log(delegate, msg, throwable);
+        LogLevel.WARN.log(this, msg, throwable);
     }
 
     /**
@@ -222,7 +691,94 @@ public class Logger {
      *
      */
     public void warn(String template, Object... parameter) {
-        LogLevel.WARN.log(delegate, template, parameter);
+        LogLevel.WARN.log(this, template, parameter);
+    }
+
+    /**
+     * Log a message at the warn level. In contrast to {@link #warn(String, Object...)} no
+     * parameter-array will be created if the warn level is not enabled.
+     *
+     * @param template to be used for formatting, see class-documentation for details on formatting
+     * @param parameter to be used for replacing the placeholder
+     *
+     */
+    public void warn(String template, Object parameter) {
+        LogLevel.WARN.log(this, template, parameter);
+    }
+
+    /**
+     * Log a message at the warn level. In contrast to {@link #warn(String, Object...)} no
+     * parameter-array will be created if the warn level is not enabled.
+     *
+     * @param template to be used for formatting, see class-documentation for details on formatting
+     * @param first parameter to be used for replacing the placeholder
+     * @param second parameter to be used for replacing the placeholder
+     *
+     */
+    public void warn(String template, Object first, Object second) {
+        LogLevel.WARN.log(this, template, first, second);
+    }
+
+    /**
+     * Log a message at the warn level. In contrast to {@link #warn(String, Object...)} no
+     * parameter-array will be created if the warn level is not enabled.
+     *
+     * @param template to be used for formatting, see class-documentation for details on formatting
+     * @param first parameter to be used for replacing the placeholder
+     * @param second parameter to be used for replacing the placeholder
+     * @param third parameter to be used for replacing the placeholder
+     *
+     */
+    public void warn(String template, Object first, Object second, Object third) {
+        LogLevel.WARN.log(this, template, first, second, third);
+    }
+
+    /**
+     * Log a message at the warn level. The message will only be created if the warn level is
+     * enabled.
+     *
+     * @param message supplying the message to be logged, must not be null
+     *
+     */
+    public void warn(Supplier<String> message) {
+        LogLevel.WARN.log(this, message, null);
+    }
+
+    /**
+     * Log a message at the warn level. The message will only be created if the warn level is
+     * enabled.
+     *
+     * @param throwable to be logged
+     * @param message supplying the message to be logged, must not be null
+     *
+     */
+    public void warn(Throwable throwable, Supplier<String> message) {
+        LogLevel.WARN.log(this, message, throwable);
+    }
+
+    /**
+     * Log a message at the warn level. The parameter will only be created if the warn level is
+     * enabled.
+     *
+     * @param template to be used for formatting, see class-documentation for details on formatting
+     * @param parameter supplying the parameter to be used for replacing the placeholder, must not
+     *            be null
+     *
+     */
+    public void warn(String template, Supplier<Object[]> parameter) {
+        LogLevel.WARN.log(this, template, parameter);
+    }
+
+    /**
+     * Log a message at the warn level.
+     *
+     * @param throwable to be logged
+     * @param template to be used for formatting, see class-documentation for details on formatting
+     * @param parameter to be used for replacing the placeholder
+     *
+     */
+    public void warn(Throwable throwable, String template, Object... parameter) {
+        LogLevel.WARN.log(this, throwable, template, parameter);
     }
 
     /**
@@ -233,7 +789,17 @@ public class Logger {
      *
      */
     public boolean isErrorEnabled() {
-        return LogLevel.ERROR.isEnabled(delegate);
+        return LogLevel.ERROR.isEnabled(this);
+    }
+
+    /**
+     * Starts a structured log-event at the error level, see class-documentation for details.
+     *
+     * @return the {@link LogEvent} to be completed by one of its {@code log} methods. In case the
+     *         error level is not enabled it is a shared instance ignoring all calls.
+     */
+    public LogEvent atError() {
+        return LogEvent.start(this, LogLevel.ERROR);
     }
 
     /**
@@ -242,7 +808,7 @@ public class Logger {
      * @param msg the message string to be logged
      */
     public void error(String msg) {
-        LogLevel.ERROR.log(delegate, msg);
+        LogLevel.ERROR.log(this, msg);
     }
 
     /**
@@ -253,7 +819,7 @@ public class Logger {
      *
      */
     public void error(String msg, Throwable throwable) {
-        LogLevel.ERROR.log(delegate, msg, throwable);
+        LogLevel.ERROR.log(this, msg, throwable);
     }
 
     /**
@@ -264,10 +830,269 @@ public class Logger {
      *
      */
     public void error(String template, Object... parameter) {
-        LogLevel.ERROR.log(delegate, template, parameter);
+        LogLevel.ERROR.log(this, template, parameter);
+    }
+
+    /**
+     * Log a message at the error level. In contrast to {@link #error(String, Object...)} no
+     * parameter-array will be created if the error level is not enabled.
+     *
+     * @param template to be used for formatting, see class-documentation for details on formatting
+     * @param parameter to be used for replacing the placeholder
+     *
+     */
+    public void error(String template, Object parameter) {
+        LogLevel.ERROR.log(this, template, parameter);
+    }
+
+    /**
+     * Log a message at the error level. In contrast to {@link #error(String, Object...)} no
+     * parameter-array will be created if the error level is not enabled.
+     *
+     * @param template to be used for formatting, see class-documentation for details on formatting
+     * @param first parameter to be used for replacing the placeholder
+     * @param second parameter to be used for replacing the placeholder
+     *
+     */
+    public void error(String template, Object first, Object second) {
+        LogLevel.ERROR.log(this, template, first, second);
+    }
+
+    /**
+     * Log a message at the error level. In contrast to {@link #error(String, Object...)} no
+     * parameter-array will be created if the error level is not enabled.
+     *
+     * @param template to be used for formatting, see class-documentation for details on formatting
+     * @param first parameter to be used for replacing the placeholder
+     * @param second parameter to be used for replacing the placeholder
+     * @param third parameter to be used for replacing the placeholder
+     *
+     */
+    public void error(String template, Object first, Object second, Object third) {
+        LogLevel.ERROR.log(this, template, first, second, third);
+    }
+
+    /**
+     * Log a message at the error level. The message will only be created if the error level is
+     * enabled.
+     *
+     * @param message supplying the message to be logged, must not be null
+     *
+     */
+    public void error(Supplier<String> message) {
+        LogLevel.ERROR.log(this, message, null);
+    }
+
+    /**
+     * Log a message at the error level. The message will only be created if the error level is
+     * enabled.
+     *
+     * @param throwable to be logged
+     * @param message supplying the message to be logged, must not be null
+     *
+     */
+    public void error(Throwable throwable, Supplier<String> message) {
+        LogLevel.ERROR.log(this, message, throwable);
+    }
+
+    /**
+     * Log a message at the error level. The parameter will only be created if the error level is
+     * enabled.
+     *
+     * @param template to be used for formatting, see class-documentation for details on formatting
+     * @param parameter supplying the parameter to be used for replacing the placeholder, must not
+     *            be null
+     *
+     */
+    public void error(String template, Supplier<Object[]> parameter) {
+        LogLevel.ERROR.log(this, template, parameter);
+    }
+
+    /**
+     * Log a message at the error level.
+     *
+     * @param throwable to be logged
+     * @param template to be used for formatting, see class-documentation for details on formatting
+     * @param parameter to be used for replacing the placeholder
+     *
+     */
+    public void error(Throwable throwable, String template, Object... parameter) {
+        LogLevel.ERROR.log(this, throwable, template, parameter);
+    }
+
+    /**
+     * Sets the level of the wrapped {@link java.util.logging.Logger}.
+     *
+     * @param level the new level, may be null, in that case the level of the parent will be used.
+     */
+    public void setLevel(Level level) {
+        delegate.setLevel(level);
+        refreshLevels();
+    }
+
+    /**
+     * Updates the snapshots of the effective levels of all {@link Logger} instances eagerly. Not
+     * needed for correctness, each snapshot detects changed levels of its parent chain itself.
+     */
+    public static void refreshLevels() {
+        EffectiveLevel.refreshAll();
+    }
+
+    /**
+     * Publishes the records of this logger through the given {@link AsyncLogDispatcher}. For
+     * rate-limited or sampled views it applies to the logger they are created from.
+     *
+     * @param dispatcher to be used for this logger, may be null, in that case
+     *            {@link #setDefaultDispatcher(AsyncLogDispatcher)} applies
+     */
+    public void setDispatcher(AsyncLogDispatcher dispatcher) {
+        origin.dispatcher = dispatcher;
+    }
+
+    /**
+     * Publishes the records of all {@link Logger}s without an explicitly set dispatcher through the
+     * given {@link AsyncLogDispatcher}.
+     *
+     * @param dispatcher to be used, may be null, in that case the records are published
+     *            synchronously on the calling thread, which is the default.
+     */
+    public static void setDefaultDispatcher(AsyncLogDispatcher dispatcher) {
+        defaultDispatcher = dispatcher;
+    }
+
+    /**
+     * Publishes the given message, the caller is expected to have checked the level before.
+     */
+    void dispatch(LogLevel level, String message, Throwable throwable) {
+        AsyncLogDispatcher async = resolveDispatcher();
+        if (null == async) {
+            log(level, message, throwable);
+        } else {
+            LogRecord record = new LogRecord(level.getJuliLevel(), message);
+            record.setThrown(throwable);
+            async.dispatch(delegate, prepareForDispatch(record));
+        }
+    }
+
+    /**
+     * Publishes the given template, the caller is expected to have checked the level before. In
+     * case of asynchronous dispatching the message will be rendered lazily.
+     */
+    void dispatch(LogLevel level, Throwable throwable, MessageTemplate template, Object... parameter) {
+        AsyncLogDispatcher async = resolveDispatcher();
+        if (null == async) {
+            log(level, template.render(parameter), throwable);
+        } else {
+            LogRecord record = createRecord(level, template, parameter);
+            record.setThrown(throwable);
+            async.dispatch(delegate, prepareForDispatch(record));
+        }
+    }
+
+    /**
+     * Creates a {@link LogRecord} for the given template. In case of asynchronous dispatching the
+     * message will be rendered lazily from a snapshot of the parameter.
+     */
+    LogRecord createRecord(LogLevel level, MessageTemplate template, Object... parameter) {
+        if (null == resolveDispatcher()) {
+            return new LogRecord(level.getJuliLevel(), template.render(parameter));
+        }
+        return new DeferredLogRecord(level.getJuliLevel(), template, MessageTemplate.snapshot(parameter));
+    }
+
+    /**
+     * @return {@code true} if the records of this logger are published asynchronously
+     */
+    boolean isDispatchedAsync() {
+        return null != resolveDispatcher();
+    }
+
+    /**
+     * Publishes the given record, the caller is expected to have checked the level before.
+     */
+    void publish(LogLevel level, LogRecord record) {
+        AsyncLogDispatcher async = resolveDispatcher();
+        if (null == async) {
+            record.setLoggerName(delegate.getName());
+            record.setResourceBundle(delegate.getResourceBundle());
+            record.setResourceBundleName(delegate.getResourceBundleName());
+            if (LogMetrics.isEnabled()) {
+                long start = System.nanoTime();
+                delegate.log(record);
+                counters().record(level, record.getMessage(), System.nanoTime() - start);
+            } else {
+                delegate.log(record);
+            }
+        } else {
+            async.dispatch(delegate, prepareForDispatch(record));
+        }
+    }
+
+    private void log(LogLevel level, String message, Throwable throwable) {
+        if (LogMetrics.isEnabled()) {
+            long start = System.nanoTime();
+            delegate.log(level.getJuliLevel(), message, throwable);
+            counters().record(level, message, System.nanoTime() - start);
+        } else {
+            delegate.log(level.getJuliLevel(), message, throwable);
+        }
+    }
+
+    private LoggerCounters counters() {
+        LoggerCounters resolved = origin.counters;
+        if (null == resolved) {
+            resolved = LogMetrics.counters(delegate.getName());
+            origin.counters = resolved;
+        }
+        return resolved;
+    }
+
+    /**
+     * Applies rate limiting or sampling, the caller is expected to have checked the level before.
+     * In case of suppressed messages to be reported the summary is logged first.
+     *
+     * @return {@code true} if the message is to be logged
+     */
+    boolean tryAcquire(LogLevel level) {
+        if (null == throttle) {
+            return true;
+        }
+        if (!throttle.tryAcquire()) {
+            return false;
+        }
+        long suppressed = throttle.pollSuppressed();
+        if (suppressed > 0) {
+            dispatch(level, null, SUPPRESSED_TEMPLATE, suppressed);
+        }
+        return true;
+    }
+
+    private AsyncLogDispatcher resolveDispatcher() {
+        AsyncLogDispatcher resolved = origin.dispatcher;
+        if (null == resolved) {
+            resolved = defaultDispatcher;
+        }
+        return resolved;
+    }
+
+    /**
+     * Sets the properties usually set by {@link java.util.logging.Logger#log(Level, String)}. The
+     * source is explicitly set to null, because inferring it on the consumer thread would be wrong.
+     */
+    private LogRecord prepareForDispatch(LogRecord record) {
+        record.setLoggerName(delegate.getName());
+        record.setResourceBundle(delegate.getResourceBundle());
+        record.setResourceBundleName(delegate.getResourceBundleName());
+        record.setSourceClassName(null);
+        record.setSourceMethodName(null);
+        return record;
     }
 
     java.util.logging.Logger getWrapped() {
         return delegate;
     }
+
+    EffectiveLevel getEffectiveLevel() {
+        return effectiveLevel;
+    }
 }
@@ -0,0 +1,74 @@
+package de.icw.util.logging;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Striped counters of a single logger name, one set per {@link LogLevel}, see {@link LogMetrics}.
+ *
+ * @author Oliver Wolff
+ *
+ */
+final class LoggerCounters {
+
+    private static final LogLevel[] LEVELS = LogLevel.values();
+
+    private final String loggerName;
+
+    private final LongAdder[] records = createAdders();
+
+    private final LongAdder[] characters = createAdders();
+
+    private final LongAdder[] handlerNanos = createAdders();
+
+    /**
+     * @param loggerName name of the logger being counted
+     */
+    LoggerCounters(String loggerName) {
+        this.loggerName = loggerName;
+    }
+
+    /**
+     * @param level of the published record, must not be null
+     * @param message the rendered message, may be null
+     * @param nanos spent in publishing the record to the handlers
+     */
+    void record(LogLevel level, String message, long nanos) {
+        int index = level.ordinal();
+        records[index].increment();
+        if (null != message) {
+            characters[index].add(message.length());
+        }
+        handlerNanos[index].add(nanos);
+    }
+
+    /**
+     * Adds a {@link LoggerMetrics} for each level with at least one record to the given list.
+     */
+    void snapshotTo(List<LoggerMetrics> target) {
+        for (LogLevel level : LEVELS) {
+            int index = level.ordinal();
+            long count = records[index].sum();
+            if (count > 0) {
+                target.add(new LoggerMetrics(loggerName, level.name(), count, characters[index].sum(),
+                        handlerNanos[index].sum()));
+            }
+        }
+    }
+
+    void reset() {
+        for (int index = 0; index < LEVELS.length; index++) {
+            records[index].reset();
+            characters[index].reset();
+            handlerNanos[index].reset();
+        }
+    }
+
+    private static LongAdder[] createAdders() {
+        LongAdder[] adders = new LongAdder[LEVELS.length];
+        for (int index = 0; index < adders.length; index++) {
+            adders[index] = new LongAdder();
+        }
+        return adders;
+    }
+}
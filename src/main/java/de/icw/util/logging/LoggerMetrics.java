@@ -0,0 +1,32 @@
+package de.icw.util.logging;
+
+import java.io.Serializable;
+
+import lombok.Value;
+
+/**
+ * Snapshot of the metrics of a single logger name and level, see {@link LogMetrics#snapshot()}.
+ *
+ * @author Oliver Wolff
+ *
+ */
+@Value
+public class LoggerMetrics implements Serializable {
+
+    private static final long serialVersionUID = 4620418871302553146L;
+
+    /** Name of the logger */
+    private final String loggerName;
+
+    /** The level, one of TRACE, DEBUG, INFO, WARN, ERROR */
+    private final String level;
+
+    /** Number of published records */
+    private final long records;
+
+    /** Sum of the length of the rendered messages */
+    private final long renderedCharacters;
+
+    /** Time spent in publishing the records to the handlers */
+    private final long handlerNanos;
+}
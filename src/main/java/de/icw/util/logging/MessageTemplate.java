@@ -0,0 +1,244 @@
+package de.icw.util.logging;
+
+import static com.google.common.base.Strings.nullToEmpty;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+import com.google.common.base.Strings;
+
+/**
+ * Precompiled representation of a log-message template. The template is parsed exactly once into
+ * the literal segments surrounding its placeholders, see {@link Logger} for the supported
+ * placeholders. Rendering writes the segments and the parameter directly into a thread-local
+ * {@link StringBuilder} instead of running a regular expression and a second parse on every log
+ * call.
+ * <p>
+ * The rendered output is identical to the one of
+ * {@link Strings#lenientFormat(String, Object...)} after replacing {@code {}} with {@code %s}:
+ * Missing parameter leave the placeholder in place, surplus parameter are appended in square
+ * brackets and a failing {@link Object#toString()} is rendered as
+ * {@code <className@hashCode threw exceptionClass>}.
+ * </p>
+ *
+ * @author Oliver Wolff
+ *
+ */
+final class MessageTemplate {
+
+    static final String PLACEHOLDER = "%s";
+
+    static final String SLF4J_PLACEHOLDER = "{}";
+
+    /** Upper bound for the number of distinct templates being cached. */
+    static final int MAX_CACHED_TEMPLATES = 1024;
+
+    /** Buffers growing beyond this capacity are not retained by the thread. */
+    private static final int MAX_RETAINED_CAPACITY = 4096;
+
+    private static final String NULL_PARAMETER_ARRAY = "(Object[])null";
+
+    private static final Map<String, MessageTemplate> CACHE = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<Buffer> BUFFER = ThreadLocal.withInitial(Buffer::new);
+
+    private final String normalized;
+
+    private final String[] segments;
+
+    private MessageTemplate(String normalized, String[] segments) {
+        this.normalized = normalized;
+        this.segments = segments;
+    }
+
+    /**
+     * Resolves the compiled form of the given template. Templates with placeholder are cached, if
+     * {@link #MAX_CACHED_TEMPLATES} is reached an arbitrary cached template is evicted, so
+     * templates showing up late, e.g. after many dynamically concatenated ones, are cached as
+     * well. Templates without placeholder are not cached, parsing them is a single scan.
+     *
+     * @param template may be null, will be treated as empty String
+     * @return the compiled template, never null
+     */
+    static MessageTemplate of(String template) {
+        String key = nullToEmpty(template);
+        MessageTemplate compiled = CACHE.get(key);
+        if (null == compiled) {
+            compiled = parse(key);
+            if (compiled.getPlaceholderCount() > 0) {
+                if (CACHE.size() >= MAX_CACHED_TEMPLATES) {
+                    evictArbitrary();
+                }
+                CACHE.putIfAbsent(key, compiled);
+            }
+        }
+        return compiled;
+    }
+
+    private static void evictArbitrary() {
+        Iterator<String> keys = CACHE.keySet().iterator();
+        if (keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    /**
+     * Formats the given template with the given parameter.
+     *
+     * @param template may be null, will be treated as empty String
+     * @param parameter to be used for replacing the placeholder
+     * @return the formatted message
+     */
+    static String format(String template, Object... parameter) {
+        return of(template).render(parameter);
+    }
+
+    /**
+     * @param parameter to be used for replacing the placeholder
+     * @return the formatted message
+     */
+    String render(Object... parameter) {
+        if (null != parameter && 0 == parameter.length) {
+            return normalized;
+        }
+        Buffer buffer = BUFFER.get();
+        if (buffer.inUse) {
+            // Reentrant call, e.g. by a toString() method that logs itself
+            StringBuilder builder = new StringBuilder(normalized.length() + 16);
+            appendTo(builder, parameter);
+            return builder.toString();
+        }
+        buffer.inUse = true;
+        try {
+            StringBuilder builder = buffer.builder;
+            builder.setLength(0);
+            appendTo(builder, parameter);
+            return builder.toString();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * Renders the template with the given parameter into the given builder.
+     *
+     * @param builder to be written to, must not be null
+     * @param parameter to be used for replacing the placeholder
+     */
+    void appendTo(StringBuilder builder, Object... parameter) {
+        Object[] arguments = parameter;
+        if (null == arguments) {
+            arguments = new Object[] { NULL_PARAMETER_ARRAY };
+        }
+        builder.append(segments[0]);
+        int index = 0;
+        for (int segment = 1; segment < segments.length; segment++) {
+            if (index < arguments.length) {
+                appendLenient(builder, arguments[index++]);
+            } else {
+                builder.append(PLACEHOLDER);
+            }
+            builder.append(segments[segment]);
+        }
+        if (index < arguments.length) {
+            builder.append(" [");
+            appendLenient(builder, arguments[index++]);
+            while (index < arguments.length) {
+                builder.append(", ");
+                appendLenient(builder, arguments[index++]);
+            }
+            builder.append(']');
+        }
+    }
+
+    /**
+     * @return the number of placeholders within the template
+     */
+    int getPlaceholderCount() {
+        return segments.length - 1;
+    }
+
+    static MessageTemplate parse(String template) {
+        String normalized = template.replace(SLF4J_PLACEHOLDER, PLACEHOLDER);
+        List<String> found = new ArrayList<>();
+        int start = 0;
+        int placeholder = normalized.indexOf(PLACEHOLDER);
+        while (-1 != placeholder) {
+            found.add(normalized.substring(start, placeholder));
+            start = placeholder + PLACEHOLDER.length();
+            placeholder = normalized.indexOf(PLACEHOLDER, start);
+        }
+        found.add(normalized.substring(start));
+        return new MessageTemplate(normalized, found.toArray(new String[0]));
+    }
+
+    /**
+     * Creates a copy of the given parameter that can safely be rendered later, possibly on a
+     * different thread. Immutable values are kept as they are, all other values are converted to
+     * their String representation.
+     *
+     * @param parameter to be copied, may be null
+     * @return the snapshot of the parameter, null if the given parameter is null
+     */
+    static Object[] snapshot(Object... parameter) {
+        if (null == parameter) {
+            return null;
+        }
+        Object[] snapshot = new Object[parameter.length];
+        for (int index = 0; index < parameter.length; index++) {
+            Object value = parameter[index];
+            if (null == value || isImmutable(value)) {
+                snapshot[index] = value;
+            } else {
+                snapshot[index] = lenientToString(value);
+            }
+        }
+        return snapshot;
+    }
+
+    private static boolean isImmutable(Object value) {
+        return value instanceof String || value instanceof Integer || value instanceof Long
+                || value instanceof Boolean || value instanceof Character || value instanceof Double
+                || value instanceof Float || value instanceof Short || value instanceof Byte
+                || value instanceof Enum<?> || value instanceof Class<?>;
+    }
+
+    private static void appendLenient(StringBuilder builder, Object parameter) {
+        if (null == parameter) {
+            builder.append("null");
+            return;
+        }
+        builder.append(lenientToString(parameter));
+    }
+
+    private static String lenientToString(Object parameter) {
+        try {
+            return parameter.toString();
+        } catch (Exception e) {
+            String objectToString =
+                parameter.getClass().getName() + '@' + Integer.toHexString(System.identityHashCode(parameter));
+            java.util.logging.Logger.getLogger(MessageTemplate.class.getName()).log(Level.WARNING,
+                    "Exception during lenientFormat for " + objectToString, e);
+            return "<" + objectToString + " threw " + e.getClass().getName() + ">";
+        }
+    }
+
+    private static final class Buffer {
+
+        private StringBuilder builder = new StringBuilder(256);
+
+        private boolean inUse;
+
+        void release() {
+            inUse = false;
+            if (builder.capacity() > MAX_RETAINED_CAPACITY) {
+                builder = new StringBuilder(256);
+            }
+        }
+    }
+}
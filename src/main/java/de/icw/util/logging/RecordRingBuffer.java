@@ -0,0 +1,118 @@
+package de.icw.util.logging;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BiConsumer;
+import java.util.logging.LogRecord;
+
+/**
+ * Bounded lock-free ring buffer for {@link LogRecord}s together with the
+ * {@link java.util.logging.Logger} they are to be published with. It supports an arbitrary number
+ * of producers but only a single consumer. Each slot carries a sequence number that tells
+ * producers and the consumer whether the slot is free or filled for the current lap, therefore
+ * {@link #offer(java.util.logging.Logger, LogRecord)} needs only a single compare and set.
+ *
+ * @author Oliver Wolff
+ *
+ */
+final class RecordRingBuffer {
+
+    private final int mask;
+
+    private final AtomicLongArray sequences;
+
+    private final java.util.logging.Logger[] loggers;
+
+    private final LogRecord[] records;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    /** Only accessed by the consumer */
+    private long head;
+
+    /**
+     * @param capacity must be a positive power of two
+     */
+    RecordRingBuffer(int capacity) {
+        checkArgument(capacity > 0 && Integer.bitCount(capacity) == 1,
+                "Capacity must be a positive power of two, but was %s", capacity);
+        mask = capacity - 1;
+        sequences = new AtomicLongArray(capacity);
+        for (int index = 0; index < capacity; index++) {
+            sequences.set(index, index);
+        }
+        loggers = new java.util.logging.Logger[capacity];
+        records = new LogRecord[capacity];
+    }
+
+    /**
+     * Adds the given record, can be called concurrently.
+     *
+     * @param logger to publish the record with, must not be null
+     * @param record to be published, must not be null
+     * @return {@code true} if the record was added, {@code false} if the buffer is full
+     */
+    boolean offer(java.util.logging.Logger logger, LogRecord record) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (0 == difference) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    loggers[index] = logger;
+                    records[index] = record;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes up to the given number of records and passes them to the given consumer. Must only
+     * be called by a single thread.
+     *
+     * @param consumer to be called for each record
+     * @param maxElements the maximum number of records to be drained
+     * @return the number of drained records
+     */
+    int drainTo(BiConsumer<java.util.logging.Logger, LogRecord> consumer, int maxElements) {
+        int drained = 0;
+        while (drained < maxElements) {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            java.util.logging.Logger logger = loggers[index];
+            LogRecord record = records[index];
+            loggers[index] = null;
+            records[index] = null;
+            sequences.set(index, head + mask + 1);
+            head++;
+            drained++;
+            consumer.accept(logger, record);
+        }
+        return drained;
+    }
+
+    /**
+     * @return {@code true} if there is no record to be drained. Only reliable for the consumer.
+     */
+    boolean isEmpty() {
+        return sequences.get((int) head & mask) != head + 1;
+    }
+
+    /**
+     * @return the capacity of the buffer
+     */
+    int capacity() {
+        return mask + 1;
+    }
+}
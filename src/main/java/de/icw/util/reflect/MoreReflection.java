@@ -45,9 +45,7 @@ public final class MoreReflection {
         try {
             return Optional.of(type.getDeclaredField(fieldName));
         } catch (final NoSuchFieldException | SecurityException e) {
-            LOG.trace(
-                    "Error while trying to read field {} on type {}",
-                    type, fieldName, e);
+            LOG.trace(e, "Error while trying to read field {} on type {}", fieldName, type);
             if (Object.class.equals(type.getClass()) || null == type.getSuperclass()) {
                 return Optional.empty();
             }
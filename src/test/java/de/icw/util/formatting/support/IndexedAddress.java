@@ -0,0 +1,95 @@
+package de.icw.util.formatting.support;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+
+import de.icw.util.formatting.template.FormatterSupport;
+import de.icw.util.formatting.template.IndexedFormatterSupport;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Hand-written {@link IndexedFormatterSupport}. {@link #mapBased()} provides the same values as
+ * plain {@link FormatterSupport}, creating a new map on each call like most implementations do.
+ */
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class IndexedAddress implements IndexedFormatterSupport, Serializable {
+
+    private static final long serialVersionUID = 2301726593125539185L;
+
+    private static final List<String> SUPPORTED_PROP_LIST =
+        ImmutableList.of("street", "postalCode", "city", "country");
+
+    private final String street;
+
+    private final String postalCode;
+
+    private final String city;
+
+    private final String country;
+
+    /**
+     * Needed by the lexer
+     */
+    public IndexedAddress() {
+        this(null, null, null, null);
+    }
+
+    @Override
+    public Object valueAt(final int index) {
+        switch (index) {
+            case 0:
+                return street;
+            case 1:
+                return postalCode;
+            case 2:
+                return city;
+            case 3:
+                return country;
+            default:
+                throw new IndexOutOfBoundsException("No property with index " + index);
+        }
+    }
+
+    @Override
+    public Map<String, Serializable> getAvailablePropertyValues() {
+        final Map<String, Serializable> result = new HashMap<>();
+        for (int index = 0; index < SUPPORTED_PROP_LIST.size(); index++) {
+            final Object value = valueAt(index);
+            if (null != value) {
+                result.put(SUPPORTED_PROP_LIST.get(index), (Serializable) value);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<String> getSupportedPropertyNames() {
+        return SUPPORTED_PROP_LIST;
+    }
+
+    /**
+     * @return a view on this address not being an {@link IndexedFormatterSupport}
+     */
+    public FormatterSupport mapBased() {
+        return new FormatterSupport() {
+
+            @Override
+            public List<String> getSupportedPropertyNames() {
+                return SUPPORTED_PROP_LIST;
+            }
+
+            @Override
+            public Map<String, Serializable> getAvailablePropertyValues() {
+                return IndexedAddress.this.getAvailablePropertyValues();
+            }
+        };
+    }
+}
@@ -0,0 +1,149 @@
+package de.icw.util.formatting.template;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+class BeanFormatterSupportTest {
+
+    private static final String TEMPLATE = "[street], [zip ][city][ (active)]";
+
+    @Test
+    void shouldDetermineSortedPropertyNames() {
+        assertEquals(Arrays.asList("active", "city", "location", "street", "zip"),
+                BeanFormatterSupport.of(new Address("Main Street", "12345", "Berlin", true))
+                        .getSupportedPropertyNames());
+    }
+
+    @Test
+    void shouldProvideValues() {
+        final BeanFormatterSupport<Address> support =
+            BeanFormatterSupport.of(new Address("Main Street", null, "Berlin", false));
+
+        assertEquals(Boolean.FALSE, support.valueAt(0));
+        assertEquals("Berlin", support.valueAt(1));
+        assertNull(support.valueAt(4));
+        assertEquals(4, support.getAvailableCount());
+        assertThrows(IndexOutOfBoundsException.class, () -> support.valueAt(5));
+
+        final Map<String, Serializable> expected = new HashMap<>();
+        expected.put("active", false);
+        expected.put("city", "Berlin");
+        expected.put("street", "Main Street");
+        expected.put("location", "Berlin (Main Street)");
+        assertEquals(expected, support.getAvailablePropertyValues());
+    }
+
+    @Test
+    void shouldFormatBySlot() {
+        final TemplateFormatter<BeanFormatterSupport<Address>> formatter =
+            BeanFormatterSupport.createFormatter(TEMPLATE, Address.class);
+
+        assertEquals("Main Street, 12345 Berlin (true)",
+                formatter.format(BeanFormatterSupport.of(new Address("Main Street", "12345", "Berlin", true))));
+        assertEquals("Main Street, Berlin (false)",
+                formatter.format(BeanFormatterSupport.of(new Address("Main Street", null, "Berlin", false))));
+    }
+
+    @Test
+    void shouldFormatLikeMapBasedSupport() {
+        final TemplateFormatter<BeanFormatterSupport<Address>> formatter =
+            BeanFormatterSupport.createFormatter(TEMPLATE, Address.class);
+        final TemplateFormatter<MapSupport> mapFormatter =
+            TemplateFormatterImpl.createFormatter(TEMPLATE, new MapSupport(BeanFormatterSupport
+                    .of(new Address(null, null, null, null))));
+        final String[] values = { null, "value" };
+        for (final String street : values) {
+            for (final String zip : values) {
+                for (final String city : values) {
+                    final BeanFormatterSupport<Address> support =
+                        BeanFormatterSupport.of(new Address(street, zip, city, null));
+                    assertEquals(mapFormatter.format(new MapSupport(support)), formatter.format(support));
+                }
+            }
+        }
+    }
+
+    @Test
+    @SuppressWarnings({ "unchecked", "rawtypes" }) // Formatting a subtype adapter on purpose
+    void shouldFormatSubtypesByDeclaredType() {
+        final TemplateFormatter<BeanFormatterSupport<Address>> formatter =
+            BeanFormatterSupport.createFormatter("[street]/[city]", Address.class);
+
+        assertEquals("Main Street/Berlin", formatter.format(
+                BeanFormatterSupport.of(Address.class, new PostalAddress("Main Street", "Berlin"))));
+        // Different slots due to the additional property, resolved by name instead
+        assertEquals("Main Street/Berlin",
+                formatter.format((BeanFormatterSupport) BeanFormatterSupport.of(new PostalAddress("Main Street",
+                        "Berlin"))));
+    }
+
+    @Test
+    void shouldFailOnMissingAccessMethods() {
+        assertThrows(IllegalArgumentException.class, () -> BeanFormatterSupport.of(new Object()));
+        assertFalse(BeanFormatterSupport.of("text").getSupportedPropertyNames().isEmpty());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Address {
+
+        private final String street;
+
+        private final String zip;
+
+        private final String city;
+
+        private final Boolean active;
+
+        /**
+         * @return computed property, only present if city and street are
+         */
+        public String getLocation() {
+            return null == city || null == street ? null : city + " (" + street + ")";
+        }
+    }
+
+    public static class PostalAddress extends Address {
+
+        PostalAddress(final String street, final String city) {
+            super(street, null, city, null);
+        }
+
+        public String getBox() {
+            return "4711";
+        }
+    }
+
+    /** Map based view on the same values */
+    static class MapSupport implements FormatterSupport {
+
+        private final BeanFormatterSupport<?> delegate;
+
+        MapSupport(final BeanFormatterSupport<?> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Map<String, Serializable> getAvailablePropertyValues() {
+            return delegate.getAvailablePropertyValues();
+        }
+
+        @Override
+        public List<String> getSupportedPropertyNames() {
+            return delegate.getSupportedPropertyNames();
+        }
+    }
+}
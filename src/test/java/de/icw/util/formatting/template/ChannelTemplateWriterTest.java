@@ -0,0 +1,80 @@
+package de.icw.util.formatting.template;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import de.icw.util.formatting.support.PersonName;
+
+class ChannelTemplateWriterTest {
+
+    private final TemplateFormatter<PersonName> formatter =
+        TemplateFormatterImpl.createFormatter("[familyName], [givenName]", PersonName.class);
+
+    private final List<PersonName> names = createNames();
+
+    @Test
+    void shouldWriteEncodedRecords() throws IOException {
+        final StringWriter expected = new StringWriter();
+        formatter.formatTo(names, expected);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // A small buffer forces several writes to the channel
+        try (ChannelTemplateWriter<PersonName> writer =
+            new ChannelTemplateWriter<>(formatter, Channels.newChannel(output), StandardCharsets.UTF_8, 16)) {
+            writer.writeAll(names.stream());
+        }
+
+        assertArrayEquals(expected.toString().getBytes(StandardCharsets.UTF_8), output.toByteArray());
+    }
+
+    @Test
+    void shouldWriteOnFlush() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final ChannelTemplateWriter<PersonName> writer =
+            new ChannelTemplateWriter<>(formatter, Channels.newChannel(output), StandardCharsets.ISO_8859_1);
+
+        writer.write(names.get(0));
+        assertEquals(0, output.size());
+        writer.flush();
+        assertEquals("M\u00fcller0, J\u00fcrgen", new String(output.toByteArray(), StandardCharsets.ISO_8859_1));
+
+        writer.close();
+        assertThrows(IOException.class, () -> writer.write(names.get(1)));
+    }
+
+    @Test
+    void shouldFormatStreamToWriter() throws IOException {
+        final StringWriter expected = new StringWriter();
+        formatter.formatTo(names, expected);
+        final StringWriter actual = new StringWriter();
+
+        formatter.formatTo(names.stream(), actual);
+
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    void shouldRejectTooSmallBuffer() {
+        assertThrows(IllegalArgumentException.class, () -> new ChannelTemplateWriter<>(formatter,
+                Channels.newChannel(new ByteArrayOutputStream()), StandardCharsets.UTF_8, 1));
+    }
+
+    private static List<PersonName> createNames() {
+        final List<PersonName> result = new ArrayList<>();
+        for (int index = 0; index < 50; index++) {
+            result.add(PersonName.builder().familyName("M\u00fcller" + index).givenName("J\u00fcrgen").build());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,152 @@
+package de.icw.util.formatting.template;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import de.icw.util.formatting.support.AddressDto;
+import de.icw.util.formatting.support.PersonAddress;
+import de.icw.util.formatting.support.PersonAddressGenerator;
+import de.icw.util.formatting.support.PersonName;
+import de.icw.util.formatting.template.lexer.Lexer;
+import de.icw.util.formatting.template.lexer.Lexer.ExpressionLanguage;
+import de.icw.util.formatting.template.lexer.LexerBuilder;
+import de.icw.util.formatting.template.token.Token;
+
+/**
+ * Compares {@link CompiledTemplate} with the algorithm formerly used by
+ * {@link TemplateFormatterImpl#format(FormatterSupport)}.
+ */
+class CompiledTemplateTest {
+
+    private static final String[] PERSON_NAME_TEMPLATES = {
+        "[familyName, ][givenName ][middleName]",
+        "[familyName], [givenName], [middleName]",
+        "[familyName], [givenName], [middleName] [givenNameSuffix]",
+        "Dear [academicPrefix] [givenName] [familyName]!",
+        "[familyName]",
+        "prefix [familyName] - [givenName] suffix",
+        "[familyName][givenName][middleName]",
+        ""
+    };
+
+    private static final String[] PERSON_NAME_PROPERTIES =
+        { "familyName", "givenName", "middleName", "givenNameSuffix", "academicPrefix" };
+
+    private static final String[] PERSON_ADDRESS_TEMPLATES = {
+        "[street], [postalCode] [city], [country]",
+        "[organization]: [line1] / [line2] ([flat])",
+        "<[zipCodeExtension]> [city]"
+    };
+
+    @Test
+    void shouldMatchFormerAlgorithmForPersonName() {
+        final Lexer<PersonName> lexer = LexerBuilder.useSimpleElWithSquaredBrackets().build(PersonName.class);
+        // All combinations of present and missing properties
+        for (int combination = 0; combination < 1 << PERSON_NAME_PROPERTIES.length; combination++) {
+            final PersonName personName = createPersonName(combination);
+            for (final String template : PERSON_NAME_TEMPLATES) {
+                assertSameResult(lexer.scan(template), personName);
+            }
+        }
+    }
+
+    @Test
+    void shouldMatchFormerAlgorithmForAngleBrackets() {
+        final Lexer<PersonName> lexer = LexerBuilder.withExpressionLanguage(ExpressionLanguage.SIMPLE_ANGLE_BRACKET)
+                .build(PersonName.class);
+        for (int combination = 0; combination < 1 << PERSON_NAME_PROPERTIES.length; combination++) {
+            assertSameResult(lexer.scan("Dr. <familyName, ><givenName ><middleName>"), createPersonName(combination));
+        }
+    }
+
+    @Test
+    void shouldMatchFormerAlgorithmForPersonAddress() {
+        final Lexer<PersonAddress> lexer = LexerBuilder.useSimpleElWithSquaredBrackets().build(PersonAddress.class);
+        final PersonAddress generated = new PersonAddressGenerator().next();
+        final AddressDto complete = new AddressDto();
+        complete.setStreetAddressLine("Main Street 1");
+        complete.setPostalCode("69190");
+        complete.setCity("Walldorf");
+        complete.setOrganization("ICW");
+        complete.setLine1("first");
+        complete.setFlat("3");
+        complete.setZipCodeExtension("A");
+        final PersonAddress withCountry = new PersonAddress(complete);
+        withCountry.setCountry("Germany");
+        for (final PersonAddress address : new PersonAddress[] { generated, new PersonAddress(),
+            new PersonAddress(complete), withCountry }) {
+            for (final String template : PERSON_ADDRESS_TEMPLATES) {
+                assertSameResult(lexer.scan(template), address);
+            }
+        }
+    }
+
+    private static PersonName createPersonName(final int combination) {
+        final PersonName personName = new PersonName();
+        for (int index = 0; index < PERSON_NAME_PROPERTIES.length; index++) {
+            if ((combination & 1 << index) != 0) {
+                set(personName, PERSON_NAME_PROPERTIES[index]);
+            }
+        }
+        return personName;
+    }
+
+    private static void set(final PersonName personName, final String property) {
+        switch (property) {
+            case "familyName":
+                personName.setFamilyName("Family");
+                break;
+            case "givenName":
+                personName.setGivenName("Given");
+                break;
+            case "middleName":
+                personName.setMiddleName("Middle");
+                break;
+            case "givenNameSuffix":
+                personName.setGivenNameSuffix("Jr.");
+                break;
+            default:
+                personName.setAcademicPrefix("Dr.");
+        }
+    }
+
+    private static void assertSameResult(final List<Token> tokens, final FormatterSupport reference) {
+        assertEquals(formatLikeBefore(tokens, reference), new CompiledTemplate(tokens, 0).execute(reference),
+                () -> "Tokens " + tokens + ", reference " + reference);
+    }
+
+    private static String formatLikeBefore(final List<Token> tokenList, final FormatterSupport reference) {
+        final StringBuilder buffer = new StringBuilder(0);
+        for (int index = 0; index < tokenList.size(); index++) {
+            final Token token = tokenList.get(index);
+            if (token.isStringToken()) {
+                if (lookUpLastTokenHasValue(tokenList, reference, index)
+                        && lookUpNextTokenHasValue(tokenList, reference, index)) {
+                    buffer.append(token.substituteAttribute(reference));
+                }
+            } else {
+                buffer.append(token.substituteAttribute(reference));
+            }
+        }
+        return buffer.toString();
+    }
+
+    private static boolean lookUpNextTokenHasValue(final List<Token> tokenList, final FormatterSupport reference,
+            final int currentTokenIndex) {
+        for (int index = currentTokenIndex + 1; index < tokenList.size(); index++) {
+            final Token token = tokenList.get(index);
+            if (!token.isStringToken() && !token.substituteAttribute(reference).isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean lookUpLastTokenHasValue(final List<Token> tokenList, final FormatterSupport reference,
+            final int currentTokenIndex) {
+        return currentTokenIndex > 0 && !tokenList.get(currentTokenIndex - 1).substituteAttribute(reference).isEmpty();
+    }
+}
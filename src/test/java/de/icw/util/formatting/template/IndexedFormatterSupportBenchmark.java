@@ -0,0 +1,81 @@
+package de.icw.util.formatting.template;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.icw.util.formatting.support.IndexedAddress;
+import de.icw.util.formatting.template.lexer.LexerBuilder;
+
+/**
+ * Compares formatting the same values read by index, see {@link IndexedFormatterSupport}, with
+ * reading them from the map created by {@link FormatterSupport#getAvailablePropertyValues()} and
+ * with the {@link BeanFormatterSupport} adapter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexedFormatterSupportBenchmark {
+
+    private static final String TEMPLATE = "[street, ][postalCode ][city][ (country)]";
+
+    private final TemplateFormatter<FormatterSupport> formatter = TemplateFormatterImpl.createFormatter(TEMPLATE,
+            LexerBuilder.useSimpleElWithSquaredBrackets().<FormatterSupport> build(new IndexedAddress()));
+
+    private final TemplateFormatter<BeanFormatterSupport<Address>> beanFormatter =
+        BeanFormatterSupport.createFormatter(TEMPLATE, Address.class);
+
+    private final IndexedAddress indexed = new IndexedAddress("Main Street", "12345", "Berlin", "DE");
+
+    private final FormatterSupport mapBased = indexed.mapBased();
+
+    private final Address address = new Address();
+
+    @Benchmark
+    public String indexed() {
+        return formatter.format(indexed);
+    }
+
+    @Benchmark
+    public String mapBased() {
+        return formatter.format(mapBased);
+    }
+
+    @Benchmark
+    public String bean() {
+        return beanFormatter.format(BeanFormatterSupport.of(Address.class, address));
+    }
+
+    /**
+     * Plain bean with the same values
+     */
+    public static class Address {
+
+        public String getStreet() {
+            return "Main Street";
+        }
+
+        public String getPostalCode() {
+            return "12345";
+        }
+
+        public String getCity() {
+            return "Berlin";
+        }
+
+        public String getCountry() {
+            return "DE";
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package de.icw.util.formatting.template;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import de.icw.util.formatting.support.IndexedAddress;
+import de.icw.util.formatting.template.lexer.LexerBuilder;
+
+class IndexedFormatterSupportTest {
+
+    private static final String TEMPLATE = "Address: [street, ][postalCode ][city][ (country)]!";
+
+    private final TemplateFormatter<FormatterSupport> formatter = TemplateFormatterImpl.createFormatter(TEMPLATE,
+            LexerBuilder.useSimpleElWithSquaredBrackets().<FormatterSupport> build(new IndexedAddress()));
+
+    @Test
+    void shouldCountAvailableValues() {
+        assertEquals(0, new IndexedAddress().getAvailableCount());
+        assertEquals(2, new IndexedAddress("Main Street", null, "Berlin", null).getAvailableCount());
+    }
+
+    @Test
+    void shouldFormatLikeMapBasedSupport() {
+        final String[] values = { null, "value" };
+        for (final String street : values) {
+            for (final String postalCode : values) {
+                for (final String city : values) {
+                    for (final String country : values) {
+                        final IndexedAddress address = new IndexedAddress(street, postalCode, city, country);
+                        assertEquals(formatter.format(address.mapBased()), formatter.format(address));
+                    }
+                }
+            }
+        }
+        assertEquals("Main Street, 12345 Berlin (DE)",
+                formatter.format(new IndexedAddress("Main Street", "12345", "Berlin", "DE")));
+        assertEquals("Berlin", formatter.format(new IndexedAddress(null, null, "Berlin", null)));
+    }
+
+    @Test
+    void shouldVerifySupportedPropertyNamesOncePerFormatting() {
+        final AtomicInteger calls = new AtomicInteger();
+        final IndexedAddress address = new IndexedAddress("Main Street", "12345", "Berlin", "DE") {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public List<String> getSupportedPropertyNames() {
+                calls.incrementAndGet();
+                return super.getSupportedPropertyNames();
+            }
+        };
+        formatter.format(address);
+        calls.set(0);
+
+        assertEquals("Main Street, 12345 Berlin (DE)", formatter.format(address));
+        // Once for verifying the names, once by the default getAvailableCount()
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void shouldFallBackOnDifferentOrder() {
+        final IndexedFormatterSupport reversed = new IndexedFormatterSupport() {
+
+            private final IndexedAddress delegate = new IndexedAddress("Main Street", "12345", "Berlin", "DE");
+
+            @Override
+            public Object valueAt(final int index) {
+                return delegate.valueAt(3 - index);
+            }
+
+            @Override
+            public List<String> getSupportedPropertyNames() {
+                return ImmutableList.of("country", "city", "postalCode", "street");
+            }
+
+            @Override
+            public Map<String, Serializable> getAvailablePropertyValues() {
+                return delegate.getAvailablePropertyValues();
+            }
+        };
+        assertEquals("Main Street, 12345 Berlin (DE)", formatter.format(reversed));
+    }
+}
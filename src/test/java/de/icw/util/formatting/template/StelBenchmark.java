@@ -0,0 +1,81 @@
+package de.icw.util.formatting.template;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.icw.util.formatting.support.AddressDto;
+import de.icw.util.formatting.support.PersonAddress;
+import de.icw.util.formatting.template.lexer.Lexer.ExpressionLanguage;
+
+/**
+ * Formats an address with a single {@link ExpressionLanguage#STEL} template compared to the chain
+ * of simple formatters needed for the same result, one per group plus joining the non empty parts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StelBenchmark {
+
+    private final TemplateFormatter<PersonAddress> stel = TemplateFormatterImpl.createFormatter(
+            "{[street] [flat?:corpus]}, {[postalCode] [city]}, [country?:'unknown']", PersonAddress.class,
+            ExpressionLanguage.STEL);
+
+    private final TemplateFormatter<PersonAddress> streetFormatter =
+        TemplateFormatterImpl.createFormatter("[street] [flat]", PersonAddress.class);
+
+    private final TemplateFormatter<PersonAddress> corpusFormatter =
+        TemplateFormatterImpl.createFormatter("[street] [corpus]", PersonAddress.class);
+
+    private final TemplateFormatter<PersonAddress> cityFormatter =
+        TemplateFormatterImpl.createFormatter("[postalCode] [city]", PersonAddress.class);
+
+    private final TemplateFormatter<PersonAddress> countryFormatter =
+        TemplateFormatterImpl.createFormatter("[country]", PersonAddress.class);
+
+    private final PersonAddress address = createAddress();
+
+    @Benchmark
+    public String stelTemplate() {
+        return stel.format(address);
+    }
+
+    @Benchmark
+    public String formatterChain() {
+        final String street = address.getAvailablePropertyValues().containsKey("flat")
+                ? streetFormatter.format(address)
+                : corpusFormatter.format(address);
+        final String country = countryFormatter.format(address);
+        final StringBuilder result = new StringBuilder();
+        for (final String part : new String[] { street, cityFormatter.format(address),
+            country.isEmpty() ? "unknown" : country }) {
+            if (!part.isEmpty()) {
+                if (result.length() > 0) {
+                    result.append(", ");
+                }
+                result.append(part);
+            }
+        }
+        return result.toString();
+    }
+
+    private static PersonAddress createAddress() {
+        final AddressDto dto = new AddressDto();
+        dto.setStreetAddressLine("Street");
+        dto.setCorpus("B");
+        dto.setPostalCode("12345");
+        dto.setCity("City");
+        return new PersonAddress(dto);
+    }
+}
@@ -0,0 +1,47 @@
+package de.icw.util.formatting.template;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.icw.util.formatting.support.IndexedAddress;
+
+/**
+ * Formats the same template by the {@link TemplateFormatterImpl} and by the formatter created by
+ * {@link TemplateCompiler}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateCompilerBenchmark {
+
+    private static final String TEMPLATE = "Address: [street, ][postalCode ][city][ (country)]!";
+
+    private final TemplateFormatter<IndexedAddress> interpreted =
+        TemplateFormatterImpl.createFormatter(TEMPLATE, IndexedAddress.class);
+
+    private final TemplateFormatter<IndexedAddress> compiled = TemplateCompiler.compile(TEMPLATE, IndexedAddress.class);
+
+    private final IndexedAddress address = new IndexedAddress("Main Street", "12345", "Berlin", null);
+
+    @Benchmark
+    public String interpreted() {
+        return interpreted.format(address);
+    }
+
+    @Benchmark
+    public String compiled() {
+        return compiled.format(address);
+    }
+}
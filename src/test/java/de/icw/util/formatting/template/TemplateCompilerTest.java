@@ -0,0 +1,126 @@
+package de.icw.util.formatting.template;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import de.icw.util.formatting.support.IndexedAddress;
+import de.icw.util.formatting.template.BeanFormatterSupportTest.Address;
+import de.icw.util.formatting.template.BeanFormatterSupportTest.PostalAddress;
+import de.icw.util.formatting.template.lexer.Lexer.ExpressionLanguage;
+import de.icw.util.formatting.template.lexer.LexerBuilder;
+import de.icw.util.support.ObjectMethodsAsserts;
+
+class TemplateCompilerTest {
+
+    private static final List<String> TEMPLATES = Arrays.asList("Address: [street, ][postalCode ][city][ (country)]!",
+            "[street], [postalCode] [city], [country]", "[street][city]", "- [city] -", "plain text", "");
+
+    @Test
+    void shouldFormatAsInterpreter() {
+        for (final String template : TEMPLATES) {
+            final TemplateFormatter<IndexedAddress> compiled = TemplateCompiler.compile(template, IndexedAddress.class);
+            assertTrue(compiled instanceof GeneratedTemplateFormatter, template);
+            final TemplateFormatter<IndexedAddress> interpreted =
+                TemplateFormatterImpl.createFormatter(template, IndexedAddress.class);
+            for (final IndexedAddress address : createAddresses()) {
+                assertEquals(interpreted.format(address), compiled.format(address), template + " " + address);
+                final StringBuilder target = new StringBuilder("prefix ");
+                compiled.format(address, target);
+                assertEquals("prefix " + interpreted.format(address), target.toString(), template + " " + address);
+            }
+        }
+    }
+
+    @Test
+    void shouldReadReferencedPropertiesOnly() {
+        final CountingAddress address = new CountingAddress();
+        final TemplateFormatter<CountingAddress> compiled = TemplateCompiler.compile("[city]",
+                LexerBuilder.useSimpleElWithSquaredBrackets().build(address), address.getSupportedPropertyNames());
+
+        assertEquals("Berlin", compiled.format(address));
+        assertEquals(Arrays.asList(2), address.readIndexes);
+        assertEquals(0, address.availableCountCalls);
+    }
+
+    @Test
+    @SuppressWarnings({ "unchecked", "rawtypes" }) // Formatting a subtype adapter on purpose
+    void shouldCompileBeanFormatter() {
+        final TemplateFormatter<BeanFormatterSupport<Address>> compiled =
+            BeanFormatterSupport.compileFormatter("[street]/[city]", Address.class);
+        assertTrue(compiled instanceof GeneratedTemplateFormatter);
+
+        assertEquals("Main Street/Berlin",
+                compiled.format(BeanFormatterSupport.of(new Address("Main Street", null, "Berlin", null))));
+        // Other supported property names due to the additional property, formatted by the interpreter
+        assertEquals("Main Street/Berlin", compiled.format(
+                (BeanFormatterSupport) BeanFormatterSupport.of(new PostalAddress("Main Street", "Berlin"))));
+    }
+
+    @Test
+    void shouldFallBackToInterpreter() {
+        // Groups are not compiled
+        final TemplateFormatter<IndexedAddress> group = TemplateCompiler.compile("{[postalCode] [city]}",
+                IndexedAddress.class, ExpressionLanguage.STEL);
+        assertTrue(group instanceof TemplateFormatterImpl);
+        assertEquals("Berlin", group.format(new IndexedAddress(null, null, "Berlin", null)));
+    }
+
+    @Test
+    void shouldRejectInvalidTemplates() {
+        assertThrows(IllegalArgumentException.class, () -> TemplateCompiler.compile("[unknown]", IndexedAddress.class));
+        assertThrows(NullPointerException.class, () -> TemplateCompiler.compile(null, IndexedAddress.class));
+    }
+
+    @Test
+    void shouldImplementObjectContracts() {
+        ObjectMethodsAsserts.assertNiceObject(TemplateCompiler.compile("[city]", IndexedAddress.class));
+    }
+
+    private static List<IndexedAddress> createAddresses() {
+        final List<IndexedAddress> result = new ArrayList<>();
+        final String[] values = { null, "", "value" };
+        for (final String street : values) {
+            for (final String postalCode : values) {
+                for (final String city : values) {
+                    for (final String country : values) {
+                        result.add(new IndexedAddress(street, postalCode, city, country));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /** Records the properties read */
+    static class CountingAddress extends IndexedAddress {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Integer> readIndexes = new ArrayList<>();
+
+        private int availableCountCalls;
+
+        CountingAddress() {
+            super("Main Street", "12345", "Berlin", "DE");
+        }
+
+        @Override
+        public Object valueAt(final int index) {
+            readIndexes.add(index);
+            return super.valueAt(index);
+        }
+
+        @Override
+        public int getAvailableCount() {
+            availableCountCalls++;
+            return super.getAvailableCount();
+        }
+    }
+}
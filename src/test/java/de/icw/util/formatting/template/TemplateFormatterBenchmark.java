@@ -0,0 +1,49 @@
+package de.icw.util.formatting.template;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.icw.util.formatting.support.PersonName;
+
+/**
+ * Formats with a single {@link TemplateFormatter} shared by all threads. Comparing the
+ * throughput of {@link #singleThread()} with {@link #allCores()} shows how the read path scales,
+ * as there is no lock involved both should differ by roughly the number of cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateFormatterBenchmark {
+
+    private final TemplateFormatter<PersonName> formatter =
+        TemplateFormatterImpl.createFormatter("[familyName], [givenName], [middleName] [givenNameSuffix]",
+                PersonName.class);
+
+    private final PersonName personName =
+        PersonName.builder().familyName("Family").givenName("Given").middleName("Middle").build();
+
+    @Benchmark
+    @Threads(1)
+    public String singleThread() {
+        return formatter.format(personName);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String allCores() {
+        return formatter.format(personName);
+    }
+}
@@ -0,0 +1,159 @@
+package de.icw.util.formatting.template;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import de.icw.util.formatting.support.PersonAddress;
+import de.icw.util.formatting.support.PersonName;
+import de.icw.util.formatting.template.TemplateFormatterCache.Statistics;
+import de.icw.util.formatting.template.TemplateFormatterImpl.TemplateBuilder;
+import de.icw.util.formatting.template.lexer.Lexer.ExpressionLanguage;
+import de.icw.util.formatting.template.lexer.LexerBuilder;
+
+class TemplateFormatterCacheTest {
+
+    private static final ExpressionLanguage SQUARED = ExpressionLanguage.SIMPLE_SQUARED_BRACKTES;
+
+    private final AtomicInteger created = new AtomicInteger();
+
+    @Test
+    void shouldReturnSharedFormatter() {
+        final TemplateFormatterCache cache = new TemplateFormatterCache(10);
+        final TemplateFormatter<PersonName> first =
+            cache.get("[familyName]", PersonName.class, SQUARED, factory("[familyName]", PersonName.class));
+        final TemplateFormatter<PersonName> second =
+            cache.get("[familyName]", PersonName.class, SQUARED, factory("[familyName]", PersonName.class));
+
+        assertSame(first, second);
+        assertEquals(1, created.get());
+        assertEquals(new Statistics(1, 1, 0, 1, 10), cache.getStatistics());
+        assertEquals(0.5, cache.getStatistics().getHitRate());
+    }
+
+    @Test
+    void shouldDistinguishKeys() {
+        final TemplateFormatterCache cache = new TemplateFormatterCache(10);
+        cache.get("[city]", PersonAddress.class, SQUARED, factory("[city]", PersonAddress.class));
+        cache.get("[street]", PersonAddress.class, SQUARED, factory("[street]", PersonAddress.class));
+        cache.get("[city]", PersonAddress.class, ExpressionLanguage.SIMPLE_CURLY_BRACKETS,
+                factory("[city]", PersonAddress.class));
+        cache.get("[familyName]", PersonName.class, SQUARED, factory("[familyName]", PersonName.class));
+
+        assertEquals(4, created.get());
+        assertEquals(4, cache.getStatistics().getSize());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsed() {
+        final TemplateFormatterCache cache = new TemplateFormatterCache(2);
+        final TemplateFormatter<PersonAddress> city =
+            cache.get("[city]", PersonAddress.class, SQUARED, factory("[city]", PersonAddress.class));
+        cache.get("[street]", PersonAddress.class, SQUARED, factory("[street]", PersonAddress.class));
+        // Touch city, so street becomes the eldest one
+        cache.get("[city]", PersonAddress.class, SQUARED, factory("[city]", PersonAddress.class));
+        cache.get("[postalCode]", PersonAddress.class, SQUARED, factory("[postalCode]", PersonAddress.class));
+
+        assertSame(city, cache.get("[city]", PersonAddress.class, SQUARED, factory("[city]", PersonAddress.class)));
+        cache.get("[street]", PersonAddress.class, SQUARED, factory("[street]", PersonAddress.class));
+
+        assertEquals(4, created.get());
+        assertEquals(new Statistics(2, 4, 2, 2, 2), cache.getStatistics());
+    }
+
+    @Test
+    void shouldEvictAcrossTypes() {
+        final TemplateFormatterCache cache = new TemplateFormatterCache(2);
+        cache.get("[city]", PersonAddress.class, SQUARED, factory("[city]", PersonAddress.class));
+        final TemplateFormatter<PersonName> name =
+            cache.get("[familyName]", PersonName.class, SQUARED, factory("[familyName]", PersonName.class));
+        cache.get("[street]", PersonAddress.class, SQUARED, factory("[street]", PersonAddress.class));
+
+        assertSame(name,
+                cache.get("[familyName]", PersonName.class, SQUARED, factory("[familyName]", PersonName.class)));
+        assertEquals(new Statistics(1, 3, 1, 2, 2), cache.getStatistics());
+    }
+
+    @Test
+    void shouldStayBoundedUnderConcurrentAccess() {
+        final TemplateFormatterCache cache = new TemplateFormatterCache(4);
+        final TemplateFormatter<PersonAddress> city =
+            cache.get("[city]", PersonAddress.class, SQUARED, factory("[city]", PersonAddress.class));
+
+        IntStream.range(0, 1000).parallel().forEach(index -> {
+            final String template = "[street] " + index % 10;
+            cache.get(template, PersonAddress.class, SQUARED, factory(template, PersonAddress.class));
+        });
+
+        final Statistics statistics = cache.getStatistics();
+        assertEquals(4, statistics.getSize());
+        assertEquals(1001, statistics.getHitCount() + statistics.getMissCount());
+        // The never touched formatter has the oldest stamp
+        assertNotSame(city, cache.get("[city]", PersonAddress.class, SQUARED, factory("[city]", PersonAddress.class)));
+    }
+
+    @Test
+    void shouldNotCacheFailures() {
+        final TemplateFormatterCache cache = new TemplateFormatterCache(10);
+        final Supplier<TemplateFormatter<PersonAddress>> failing = () -> {
+            created.incrementAndGet();
+            throw new IllegalArgumentException("boom");
+        };
+        assertThrows(IllegalArgumentException.class, () -> cache.get("[x]", PersonAddress.class, SQUARED, failing));
+        assertThrows(IllegalArgumentException.class, () -> cache.get("[x]", PersonAddress.class, SQUARED, failing));
+
+        assertEquals(2, created.get());
+        assertEquals(0, cache.getStatistics().getSize());
+    }
+
+    @Test
+    void shouldSupportDisabledCache() {
+        final TemplateFormatterCache cache = new TemplateFormatterCache(0);
+        final TemplateFormatter<PersonAddress> first =
+            cache.get("[city]", PersonAddress.class, SQUARED, factory("[city]", PersonAddress.class));
+        final TemplateFormatter<PersonAddress> second =
+            cache.get("[city]", PersonAddress.class, SQUARED, factory("[city]", PersonAddress.class));
+
+        assertNotSame(first, second);
+        assertEquals(0, cache.getStatistics().getSize());
+        assertThrows(IllegalArgumentException.class, () -> new TemplateFormatterCache(-1));
+    }
+
+    @Test
+    void shouldBeUsedByFactoryMethods() {
+        final String template = "[familyName], [givenName] (cached)";
+        final TemplateFormatter<PersonName> first = TemplateFormatterImpl.createFormatter(template, PersonName.class);
+
+        assertSame(first, TemplateFormatterImpl.createFormatter(template, PersonName.class));
+        assertSame(first, TemplateFormatterImpl.createFormatter(template, PersonName.class, SQUARED));
+        assertNotSame(first, TemplateFormatterImpl.createFormatter(template, PersonName.class,
+                ExpressionLanguage.SIMPLE_CURLY_BRACKETS));
+    }
+
+    @Test
+    void shouldClear() {
+        final TemplateFormatterCache cache = new TemplateFormatterCache(10);
+        cache.get("[city]", PersonAddress.class, SQUARED, factory("[city]", PersonAddress.class));
+        cache.clear();
+        cache.get("[city]", PersonAddress.class, SQUARED, factory("[city]", PersonAddress.class));
+
+        assertEquals(2, created.get());
+        assertEquals(new Statistics(0, 2, 0, 1, 10), cache.getStatistics());
+    }
+
+    private <F extends FormatterSupport> Supplier<TemplateFormatter<F>> factory(final String template,
+            final Class<F> type) {
+        return () -> {
+            created.incrementAndGet();
+            return TemplateBuilder.useTemplate(template)
+                    .scanBy(LexerBuilder.useSimpleElWithSquaredBrackets().build(type));
+        };
+    }
+}
@@ -4,8 +4,19 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 import org.junit.jupiter.api.Test;
 
+import de.icw.util.formatting.support.IndexedAddress;
 import de.icw.util.formatting.support.PersonName;
 import de.icw.util.formatting.template.lexer.Lexer;
 import de.icw.util.formatting.template.lexer.Lexer.ExpressionLanguage;
@@ -146,6 +157,103 @@ class TemplateFormatterTest {
         assertEquals(expected, formatter.format(object1));
     }
 
+    @Test
+    void shouldFormatAll() throws IOException {
+        final List<PersonName> names = createNames(100);
+        final TemplateFormatter<PersonName> formatter = getPersonNameFormatter();
+        final List<String> expected = names.stream().map(formatter::format).collect(Collectors.toList());
+
+        assertEquals(expected, formatter.formatAll(names));
+        assertEquals(expected, formatter.formatAll(names.stream()));
+        assertEquals(expected, formatter.formatAll(names.parallelStream()));
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            assertEquals(expected, formatter.formatAll(names, pool));
+        } finally {
+            pool.shutdown();
+        }
+
+        final StringWriter writer = new StringWriter();
+        formatter.formatTo(names, writer);
+        assertEquals(String.join("\n", expected), writer.toString());
+        final StringBuilder builder = new StringBuilder("start:");
+        formatter.formatTo(names, builder);
+        assertEquals("start:" + String.join("\n", expected), builder.toString());
+
+        assertThrows(NullPointerException.class, () -> formatter.formatAll(Arrays.asList(names.get(0), null)));
+    }
+
+    @Test
+    void shouldFormatIntoTarget() throws IOException {
+        final TemplateFormatter<PersonName> formatter = getPersonNameFormatter();
+        final PersonName complete =
+            PersonName.builder().familyName("Family").givenName("Given").middleName("Middle").build();
+
+        final StringBuilder builder = new StringBuilder("Name: ");
+        formatter.format(complete, builder);
+        assertEquals("Name: Family, Given Middle", builder.toString());
+
+        final StringBuilder empty = new StringBuilder("Name: ");
+        formatter.format(new PersonName(), empty);
+        assertEquals("Name: ", empty.toString());
+
+        final StringWriter writer = new StringWriter();
+        formatter.format(PersonName.builder().familyName("Family").givenName("Given").build(), writer);
+        formatter.format(complete, (Appendable) builder);
+        assertEquals("Family, Given ", writer.toString());
+        assertEquals("Name: Family, Given MiddleFamily, Given Middle", builder.toString());
+    }
+
+    @Test
+    void shouldProvideBulkFormattingByDefault() throws IOException {
+        final TemplateFormatter<PersonName> formatter = PersonName::getFamilyName;
+        final List<PersonName> names = createNames(3);
+
+        assertEquals(Arrays.asList("Family0", "Family1", "Family2"), formatter.formatAll(names));
+        final StringBuilder builder = new StringBuilder();
+        formatter.formatTo(names, builder);
+        assertEquals("Family0\nFamily1\nFamily2", builder.toString());
+    }
+
+    @Test
+    void shouldWriteToWriterWithoutCreatingStrings() throws IOException {
+        final TemplateFormatter<PersonName> formatter = getPersonNameFormatter();
+        final List<PersonName> names = createNames(3);
+        final CharArrayOnlyWriter writer = new CharArrayOnlyWriter();
+
+        formatter.formatTo(names, writer);
+
+        assertEquals(String.join("\n", formatter.formatAll(names)), writer.toString());
+    }
+
+    @Test
+    void shouldStreamCompiledFormatterToWriterWithoutCreatingStrings() throws IOException {
+        final TemplateFormatter<IndexedAddress> formatter =
+            TemplateCompiler.compile("[street], [city]", IndexedAddress.class);
+        final CharArrayOnlyWriter writer = new CharArrayOnlyWriter();
+
+        formatter.formatTo(Stream.of(new IndexedAddress("Main Street", null, "Berlin", null),
+                new IndexedAddress(null, null, "Hamburg", null)), writer);
+
+        assertEquals("Main Street, Berlin\nHamburg", writer.toString());
+    }
+
+    @Test
+    void shouldFormatSingleReferenceToWriterWithoutCreatingStrings() throws IOException {
+        final IndexedAddress address = new IndexedAddress("Main Street", null, "Berlin", null);
+        final List<TemplateFormatter<IndexedAddress>> formatters =
+            Arrays.asList(TemplateFormatterImpl.createFormatter("[street], [city]", IndexedAddress.class),
+                    TemplateCompiler.compile("[street], [city]", IndexedAddress.class),
+                    reference -> reference.valueAt(0) + ", " + reference.valueAt(2));
+        for (final TemplateFormatter<IndexedAddress> formatter : formatters) {
+            final CharArrayOnlyWriter writer = new CharArrayOnlyWriter();
+
+            formatter.format(address, writer);
+
+            assertEquals("Main Street, Berlin", writer.toString());
+        }
+    }
+
     /**
      * Test Idea : Separator should be added if both token are available: -
      * [[token1], [token2]] than VALUE1, VALUE2 are displayed - if token 2 is
@@ -162,6 +270,49 @@ class TemplateFormatterTest {
 
     /* HELPER METHODS AND CLASSES */
 
+    /**
+     * Fails on every method converting the written characters to a String first
+     */
+    private static final class CharArrayOnlyWriter extends Writer {
+
+        private final StringBuilder written = new StringBuilder();
+
+        @Override
+        public void write(final char[] cbuf, final int off, final int len) {
+            written.append(cbuf, off, len);
+        }
+
+        @Override
+        public void write(final String str, final int off, final int len) {
+            throw new AssertionError("String written: " + str);
+        }
+
+        @Override
+        public Writer append(final CharSequence csq) {
+            throw new AssertionError("CharSequence appended: " + csq);
+        }
+
+        @Override
+        public Writer append(final CharSequence csq, final int start, final int end) {
+            throw new AssertionError("CharSequence appended: " + csq);
+        }
+
+        @Override
+        public void flush() {
+            // nothing to flush
+        }
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+
+        @Override
+        public String toString() {
+            return written.toString();
+        }
+    }
+
     private static TemplateFormatter<PersonName> getPersonNameFormatter() {
         return TemplateFormatterImpl.builder().useTemplate(PERSON_NAME_FORMAT).forType(PersonName.class);
     }
@@ -181,6 +332,21 @@ class TemplateFormatterTest {
         return TemplateFormatterImpl.createFormatter(PERSON_NAME_FORMAT, source);
     }
 
+    private static List<PersonName> createNames(final int count) {
+        final List<PersonName> names = new ArrayList<>();
+        for (int index = 0; index < count; index++) {
+            final PersonName.PersonNameBuilder builder = PersonName.builder().familyName("Family" + index);
+            if (index % 2 == 0) {
+                builder.givenName("Given" + index);
+            }
+            if (index % 3 == 0) {
+                builder.middleName("Middle" + index);
+            }
+            names.add(builder.build());
+        }
+        return names;
+    }
+
     private static String anyValidString() {
         return "someString";
     }
@@ -4,6 +4,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNot.not;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.HashMap;
@@ -69,6 +71,43 @@ class TemplateManagerTest {
         return TemplateFormatterImpl.createFormatter("[familyName]", PersonName.class);
     }
 
+    @Test
+    void shouldWalkLocaleFallbackChain() {
+        final TemplateFormatter<PersonName> german = getFormatterForGermany();
+        final TemplateFormatter<PersonName> austrian = getFormatterFoUs();
+        manager = new TemplateManager.TemplateManagerBuilder<PersonName>().useAsDefault(getDeafultFormatter())
+                .with(Locale.GERMAN, german).with(new Locale("de", "AT"), austrian).build();
+
+        assertSame(german, manager.resolveFormatter(Locale.GERMANY));
+        assertSame(german, manager.resolveFormatter(new Locale("de", "CH", "POSIX")));
+        assertSame(austrian, manager.resolveFormatter(new Locale("de", "AT", "POSIX")));
+        assertSame(austrian, manager.resolveFormatter(new Locale("de", "AT")));
+        assertThat(manager.format(anyPersonName(), new Locale("de", "LU")), is("Hans, M\00FCller"));
+        assertThat(manager.format(anyPersonName(), Locale.ENGLISH), is("M\00FCller"));
+        assertThat(manager.format(anyPersonName(), null), is("M\00FCller"));
+    }
+
+    @Test
+    void shouldPreferRootLocaleOverDefault() {
+        final TemplateFormatter<PersonName> root = getFormatterFoUs();
+        manager = new TemplateManager.TemplateManagerBuilder<PersonName>().useAsDefault(getDeafultFormatter())
+                .with(Locale.ROOT, root).build();
+
+        assertSame(root, manager.resolveFormatter(Locale.CHINA));
+        assertNotSame(root, manager.resolveFormatter(null));
+    }
+
+    @Test
+    void shouldMemoizeResolvedFormatters() {
+        manager = templateManagerWithTwoLanguagesSupport();
+        final TemplateFormatter<PersonName> resolved = manager.resolveFormatter(Locale.CANADA);
+
+        assertSame(resolved, manager.resolveFormatter(Locale.CANADA));
+        for (int index = 0; index < TemplateManager.MAX_RESOLVED_LOCALES + 10; index++) {
+            assertSame(resolved, manager.resolveFormatter(new Locale("x" + index)));
+        }
+    }
+
     @Test
     void shouldReturnDefaultFormatter() {
 
@@ -0,0 +1,69 @@
+package de.icw.util.formatting.template;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import de.icw.util.formatting.support.PersonName;
+import de.icw.util.formatting.template.Validator.Report;
+import de.icw.util.formatting.template.Validator.TemplateError;
+import de.icw.util.support.ObjectMethodsAsserts;
+
+class ValidatorTest {
+
+    @Test
+    void shouldReportAllErrors() {
+        final Report report = Validator.validateTemplates(
+                Arrays.asList("[familyName], [givenName]", "[familyName] [unknown]", null, "[givenName", "a]"),
+                PersonName.class);
+
+        assertFalse(report.isValid());
+        assertEquals(5, report.getTemplateCount());
+        assertEquals(4, report.getErrors().size());
+        assertError(report.getErrors().get(0), 1, 14, "Unsupported token 'unknown'");
+        assertError(report.getErrors().get(1), 2, -1, "must not be null");
+        assertNull(report.getErrors().get(1).getTemplate());
+        assertError(report.getErrors().get(2), 3, 0, "is not closed");
+        assertError(report.getErrors().get(3), 4, 1, "has no opening bracket");
+    }
+
+    @Test
+    void shouldValidateManyTemplates() {
+        final List<String> templates = new ArrayList<>();
+        for (int index = 0; index < 1000; index++) {
+            templates.add(index % 100 == 0 ? "[invalid" + index + "]" : "[familyName], [givenName] " + index);
+        }
+
+        final Report report = Validator.validateTemplates(templates, PersonName.class);
+
+        assertEquals(10, report.getErrors().size());
+        for (int index = 0; index < 10; index++) {
+            assertEquals(index * 100, report.getErrors().get(index).getIndex());
+        }
+    }
+
+    @Test
+    void shouldPassValidTemplates() {
+        assertTrue(Validator.validateTemplates(Arrays.asList("[familyName]", "plain"), PersonName.class).isValid());
+    }
+
+    @Test
+    void shouldImplementObjectContracts() {
+        ObjectMethodsAsserts.assertNiceObject(
+                Validator.validateTemplates(Arrays.asList("[familyName]", "[unknown]"), PersonName.class));
+    }
+
+    private static void assertError(final TemplateError error, final int index, final int position,
+            final String message) {
+        assertEquals(index, error.getIndex());
+        assertEquals(position, error.getPosition());
+        assertTrue(error.getMessage().contains(message), error.getMessage());
+    }
+}
@@ -1,15 +1,21 @@
 package de.icw.util.formatting.template.lexer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
 
 import de.icw.util.formatting.support.PersonAddress;
 import de.icw.util.formatting.support.PersonAddressGenerator;
 import de.icw.util.formatting.template.lexer.BracketLexer.Brackets;
+import de.icw.util.formatting.template.token.ActionToken;
+import de.icw.util.formatting.template.token.StringToken;
 import de.icw.util.formatting.template.token.Token;
 import de.icw.util.support.ObjectMethodsAsserts;
 import de.icw.util.support.TypedGenerator;
@@ -27,6 +33,36 @@ class BracketLexerTest {
         assertEquals(0, result.size());
     }
 
+    @Test
+    void shouldScanTokens() {
+        final Lexer<PersonAddress> lexer = new BracketLexer<>(generator.next(), Brackets.SQUARED_BRACKTES);
+
+        assertEquals(Arrays.asList(new StringToken("Address: "), new ActionToken("street, ", "street", 0),
+                new ActionToken("postalCode", "postalCode", 1), new StringToken(" "), new ActionToken("city", "city", 2),
+                new StringToken("!")), lexer.scan("Address: [street, ][postalCode] [city]!"));
+        assertEquals(Arrays.asList(new StringToken("plain text")), lexer.scan("plain text"));
+        assertEquals(Arrays.asList(new StringToken("a"), new StringToken("b")), lexer.scan("a[]b"));
+        assertEquals(Arrays.asList(new ActionToken("(line1-", "line1", 6)), lexer.scan("[(line1-]"));
+    }
+
+    @Test
+    void shouldReportMalformedTemplates() {
+        final Lexer<PersonAddress> lexer = new BracketLexer<>(generator.next(), Brackets.CURLY_BRACKETS);
+
+        assertMessageContains("closing bracket '}' at position 7", () -> lexer.scan("{city} }"));
+        assertMessageContains("bracket '{' at position 7 is not closed",
+                () -> lexer.scan("{city} {street"));
+        assertMessageContains("bracket '{' at position 0 is not closed before position 3",
+                () -> lexer.scan("{a {city}}"));
+        assertMessageContains("Unsupported token 'unknown'", () -> lexer.scan("{unknown}"));
+        assertMessageContains("Unsupported token 'cityName'", () -> lexer.scan("{cityName}"));
+    }
+
+    private static void assertMessageContains(final String expected, final Executable executable) {
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, executable);
+        assertTrue(exception.getMessage().contains(expected), exception.getMessage());
+    }
+
     @Test
     void shouldImplementObjectContracts() {
         ObjectMethodsAsserts.assertNiceObject(new BracketLexer<>(generator.next(), Brackets.CURLY_BRACKETS));
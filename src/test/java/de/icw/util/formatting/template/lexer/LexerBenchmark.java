@@ -0,0 +1,81 @@
+package de.icw.util.formatting.template.lexer;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.icw.util.formatting.template.FormatterSupport;
+import de.icw.util.formatting.template.lexer.BracketLexer.Brackets;
+import de.icw.util.formatting.template.token.Token;
+
+/**
+ * Scans templates referencing all properties of a {@link FormatterSupport} exposing the given
+ * number of properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LexerBenchmark {
+
+    @Param({ "10", "60" })
+    private int attributes;
+
+    private Lexer<ManyProperties> lexer;
+
+    private String template;
+
+    @Setup
+    public void createTemplate() {
+        final ManyProperties source = new ManyProperties(attributes);
+        lexer = new BracketLexer<>(source, Brackets.SQUARED_BRACKTES);
+        final StringBuilder builder = new StringBuilder("Start: ");
+        for (final String name : source.getSupportedPropertyNames()) {
+            builder.append('[').append(name).append(", ]");
+        }
+        template = builder.append(" end").toString();
+    }
+
+    @Benchmark
+    public List<Token> scan() {
+        return lexer.scan(template);
+    }
+
+    static final class ManyProperties implements FormatterSupport {
+
+        private final List<String> names = new ArrayList<>();
+
+        ManyProperties(final int count) {
+            for (int index = 0; index < count; index++) {
+                names.add("property" + index + "Name");
+            }
+        }
+
+        @Override
+        public Map<String, Serializable> getAvailablePropertyValues() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public List<String> getSupportedPropertyNames() {
+            return names;
+        }
+    }
+}
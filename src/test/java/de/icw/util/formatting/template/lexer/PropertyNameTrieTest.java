@@ -0,0 +1,58 @@
+package de.icw.util.formatting.template.lexer;
+
+import static de.icw.util.formatting.template.lexer.PropertyNameTrie.NO_MATCH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+class PropertyNameTrieTest {
+
+    private static final int NAME = 0;
+
+    private static final int FAMILY_NAME = 1;
+
+    private static final int GIVEN_NAME = 2;
+
+    private static final int GIVEN_NAME_PREFIX = 3;
+
+    private static final int CITY = 4;
+
+    private final PropertyNameTrie trie =
+            new PropertyNameTrie(Arrays.asList("name", "familyName", "givenName", "givenNamePrefix", "city", "name"));
+
+    @Test
+    void shouldFindExactMatch() {
+        assertEquals(NAME, trie.findLongestMatch("name"));
+        assertEquals(FAMILY_NAME, trie.findLongestMatch("familyName"));
+        assertEquals(GIVEN_NAME_PREFIX, trie.findLongestMatch("givenNamePrefix"));
+    }
+
+    @Test
+    void shouldPreferLongestMatch() {
+        assertEquals(GIVEN_NAME, trie.findLongestMatch("(givenName)"));
+        assertEquals(GIVEN_NAME_PREFIX, trie.findLongestMatch(", givenNamePrefix "));
+        assertEquals(FAMILY_NAME, trie.findLongestMatch("city familyName"));
+        assertEquals(CITY, trie.findLongestMatch("city name"));
+        assertEquals(NAME, trie.findLongestMatch("nick-name"));
+    }
+
+    @Test
+    void shouldMatchWholeIdentifiersOnly() {
+        assertEquals(NO_MATCH, trie.findLongestMatch("nickname"));
+        assertEquals(NO_MATCH, trie.findLongestMatch("cityName"));
+        assertEquals(NO_MATCH, trie.findLongestMatch("givenNameSuffix"));
+        assertEquals(NO_MATCH, trie.findLongestMatch("name1"));
+        assertEquals(CITY, trie.findLongestMatch("cityName city"));
+    }
+
+    @Test
+    void shouldHandleMissingMatch() {
+        assertEquals(NO_MATCH, trie.findLongestMatch(""));
+        assertEquals(NO_MATCH, trie.findLongestMatch("nam"));
+        assertEquals(NO_MATCH, trie.findLongestMatch("Name"));
+        assertEquals(NO_MATCH, new PropertyNameTrie(Collections.<String> emptyList()).findLongestMatch("name"));
+    }
+}
@@ -0,0 +1,97 @@
+package de.icw.util.formatting.template.lexer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import de.icw.util.formatting.support.AddressDto;
+import de.icw.util.formatting.support.PersonAddress;
+import de.icw.util.formatting.template.TemplateFormatterImpl;
+import de.icw.util.formatting.template.lexer.Lexer.ExpressionLanguage;
+import de.icw.util.formatting.template.token.ActionToken;
+import de.icw.util.formatting.template.token.FallbackToken;
+import de.icw.util.formatting.template.token.GroupToken;
+import de.icw.util.formatting.template.token.StringToken;
+import de.icw.util.support.ObjectMethodsAsserts;
+
+class StelLexerTest {
+
+    private final Lexer<PersonAddress> lexer =
+        LexerBuilder.withExpressionLanguage(ExpressionLanguage.STEL).build(PersonAddress.class);
+
+    @Test
+    void shouldScanTokens() {
+        assertEquals(0, lexer.scan(null).size());
+        assertEquals(Arrays.asList(new StringToken("Address: "), new ActionToken("street, ", "street", 0),
+                new ActionToken("postalCode", "postalCode", 1), new StringToken(" "), new ActionToken("city", "city", 2),
+                new StringToken("!")), lexer.scan("Address: [street, ][postalCode] [city]!"));
+        assertEquals(Arrays.asList(new FallbackToken(Arrays.asList(new ActionToken("line1", "line1", 6),
+                new ActionToken("street", "street", 0), new StringToken("n/a")))),
+                lexer.scan("[line1?:street?:'n/a']"));
+        assertEquals(Arrays.asList(new ActionToken("street", "street", 0), new StringToken(", "),
+                new GroupToken(Arrays.asList(new ActionToken("postalCode", "postalCode", 1), new StringToken(" "),
+                        new ActionToken("city", "city", 2)))),
+                lexer.scan("[street], {[postalCode] [city]}"));
+        assertEquals(Arrays.asList(new ActionToken("city", "city", 2)), lexer.scan("{{[city]}}"));
+        assertEquals(Arrays.asList(new StringToken("a[b]'?:"), new StringToken("c")), lexer.scan("a\\[b\\]'?:[]c"));
+    }
+
+    @Test
+    void shouldFormatAddress() {
+        final String template = "[organization]\n{[street] [flat?:corpus]}, {[postalCode] [city]}, [country?:'unknown']";
+
+        assertEquals("Street 1a, 12345 City, Country",
+                format(template, address("Street", "1a", null, "12345", "City", "Country")));
+        assertEquals("Org\nStreet, City, unknown",
+                format(template, address("Street", null, "Org", null, "City", null)));
+        assertEquals("City, Country", format(template, address(null, null, null, null, "City", "Country")));
+        assertEquals("unknown", format(template, address(null, null, null, null, null, null)));
+    }
+
+    @Test
+    void shouldReportMalformedTemplates() {
+        assertMessageContains("closing bracket ']' at position 7", () -> lexer.scan("[city] ]"));
+        assertMessageContains("closing bracket '}' at position 6", () -> lexer.scan("[city]}"));
+        assertMessageContains("bracket '[' at position 7 is not closed", () -> lexer.scan("[city] [street"));
+        assertMessageContains("bracket '{' at position 0 is not closed", () -> lexer.scan("{[city]"));
+        assertMessageContains("bracket '[' at position 0 is not closed before position 3",
+                () -> lexer.scan("[a {city}]"));
+        assertMessageContains("empty alternative", () -> lexer.scan("[city?:]"));
+        assertMessageContains("quote at position 7 is not closed", () -> lexer.scan("[city?:'none]"));
+        assertMessageContains("not forming a whole alternative", () -> lexer.scan("[city?:'none' ]"));
+        assertMessageContains("ends with the escape character", () -> lexer.scan("[city]\\"));
+        assertMessageContains("Unsupported token 'unknown'", () -> lexer.scan("[city?:unknown]"));
+    }
+
+    @Test
+    void shouldImplementObjectContracts() {
+        ObjectMethodsAsserts.assertNiceObject(new StelLexer<>(new PersonAddress()));
+    }
+
+    private String format(final String template, final PersonAddress address) {
+        return TemplateFormatterImpl.createFormatter(template, lexer).format(address);
+    }
+
+    private static PersonAddress address(final String street, final String flat, final String organization,
+            final String postalCode, final String city, final String country) {
+        final AddressDto dto = new AddressDto();
+        dto.setStreetAddressLine(street);
+        dto.setFlat(flat);
+        dto.setOrganization(organization);
+        dto.setPostalCode(postalCode);
+        dto.setCity(city);
+        final PersonAddress address = new PersonAddress(dto);
+        address.setCountry(country);
+        return address;
+    }
+
+    private static void assertMessageContains(final String expected, final Executable executable) {
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, executable);
+        assertTrue(exception.getMessage().contains(expected), exception.getMessage());
+    }
+}
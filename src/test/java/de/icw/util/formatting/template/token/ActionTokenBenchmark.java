@@ -0,0 +1,97 @@
+package de.icw.util.formatting.template.token;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.icw.util.formatting.template.FormatterSupport;
+
+/**
+ * Creates and substitutes the {@link ActionToken}s of a template referencing the given number of
+ * properties, all of them having a value.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActionTokenBenchmark {
+
+    @Param({ "100", "500" })
+    private int tokens;
+
+    private final List<String> names = new ArrayList<>();
+
+    private final List<String> chunks = new ArrayList<>();
+
+    private final List<ActionToken> actionTokens = new ArrayList<>();
+
+    private final Map<String, Serializable> values = new HashMap<>();
+
+    private final FormatterSupport content = new FormatterSupport() {
+
+        @Override
+        public Map<String, Serializable> getAvailablePropertyValues() {
+            return values;
+        }
+
+        @Override
+        public List<String> getSupportedPropertyNames() {
+            return names;
+        }
+    };
+
+    @Setup
+    public void createTokens() {
+        for (int index = 0; index < tokens; index++) {
+            final String name = "property" + index + "Name";
+            names.add(name);
+            chunks.add("(" + name + "), ");
+            values.put(name, "value" + index);
+            actionTokens.add(new ActionToken(chunks.get(index), name, index));
+        }
+    }
+
+    @Benchmark
+    public List<ActionToken> create() {
+        final List<ActionToken> result = new ArrayList<>(tokens);
+        for (int index = 0; index < tokens; index++) {
+            result.add(new ActionToken(chunks.get(index), names.get(index), index));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public StringBuilder appendTo() {
+        final StringBuilder target = new StringBuilder();
+        for (final ActionToken token : actionTokens) {
+            token.appendTo(content, target);
+        }
+        return target;
+    }
+
+    @Benchmark
+    public int substituteAttribute() {
+        int length = 0;
+        for (final ActionToken token : actionTokens) {
+            length += token.substituteAttribute(content).length();
+        }
+        return length;
+    }
+}
@@ -1,7 +1,17 @@
 package de.icw.util.formatting.template.token;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.jupiter.api.Test;
 
+import de.icw.util.formatting.template.FormatterSupport;
 import de.icw.util.support.ObjectMethodsAsserts;
 
 class ActionTokenTest {
@@ -11,4 +21,52 @@ class ActionTokenTest {
         ObjectMethodsAsserts.assertNiceObject(new ActionToken("a,bc", ","));
     }
 
+    @Test
+    void shouldDecomposeTemplate() {
+        assertEquals("(value), ", new ActionToken("(name), ", "name").substituteAttribute(support("name", "other")));
+        assertEquals("value", new ActionToken("name", "name").substituteAttribute(support("name", "other")));
+        assertEquals("value, ", new ActionToken("name, ", "name").substituteAttribute(support("name", "other")));
+        // Text behind a further occurrence of the token is dropped
+        assertEquals("a value b ",
+                new ActionToken("a name b name c", "name").substituteAttribute(support("name", "other")));
+    }
+
+    @Test
+    void shouldMatchTokenLiterally() {
+        assertEquals("<value>", new ActionToken("<a.b>", "a.b").substituteAttribute(support("a.b", "other")));
+        assertEquals("(value)", new ActionToken("(a+*)", "a+*").substituteAttribute(support("a+*", "other")));
+    }
+
+    @Test
+    void shouldOmitSurroundingForSingleValue() {
+        assertEquals("value", new ActionToken("(name), ", "name").substituteAttribute(support("name")));
+        assertEquals("", new ActionToken("(name), ", "name").substituteAttribute(support("other")));
+    }
+
+    @Test
+    void shouldRejectInvalidToken() {
+        assertThrows(IllegalArgumentException.class, () -> new ActionToken("(name)", "other"));
+        assertThrows(IllegalArgumentException.class, () -> new ActionToken("(name)", ""));
+    }
+
+    private static FormatterSupport support(final String... names) {
+        final Map<String, Serializable> values = new HashMap<>();
+        final List<String> supported = new ArrayList<>();
+        for (final String name : names) {
+            supported.add(name);
+            values.put(name, "value");
+        }
+        return new FormatterSupport() {
+
+            @Override
+            public Map<String, Serializable> getAvailablePropertyValues() {
+                return values;
+            }
+
+            @Override
+            public List<String> getSupportedPropertyNames() {
+                return supported;
+            }
+        };
+    }
 }
@@ -0,0 +1,36 @@
+package de.icw.util.formatting.template.token;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import de.icw.util.formatting.support.PersonName;
+import de.icw.util.support.ObjectMethodsAsserts;
+
+class FallbackTokenTest {
+
+    private final FallbackToken token = new FallbackToken(Arrays.asList(new ActionToken("nickname", "nickname"),
+            new ActionToken("givenName", "givenName"), new StringToken("unknown")));
+
+    @Test
+    void shouldUseFirstAlternativeWithValue() {
+        assertEquals("Nick", token.substituteAttribute(PersonName.builder().nickname("Nick").givenName("Given").build()));
+        assertEquals("Given", token.substituteAttribute(PersonName.builder().givenName("Given").build()));
+        assertEquals("unknown", token.substituteAttribute(PersonName.builder().familyName("Family").build()));
+    }
+
+    @Test
+    void shouldRejectMissingAlternatives() {
+        assertThrows(IllegalArgumentException.class, () -> new FallbackToken(Collections.emptyList()));
+    }
+
+    @Test
+    void shouldImplementObjectContracts() {
+        ObjectMethodsAsserts.assertNiceObject(token);
+    }
+
+}
@@ -0,0 +1,31 @@
+package de.icw.util.formatting.template.token;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import de.icw.util.formatting.support.PersonName;
+import de.icw.util.support.ObjectMethodsAsserts;
+
+class GroupTokenTest {
+
+    private final GroupToken token = new GroupToken(Arrays.asList(new StringToken("("),
+            new ActionToken("givenName", "givenName"), new StringToken(" "), new ActionToken("middleName", "middleName"),
+            new StringToken(")")));
+
+    @Test
+    void shouldWriteSeparatorsBetweenValuesOnly() {
+        assertEquals("Given Middle",
+                token.substituteAttribute(PersonName.builder().givenName("Given").middleName("Middle").build()));
+        assertEquals("Middle", token.substituteAttribute(PersonName.builder().middleName("Middle").build()));
+        assertEquals("", token.substituteAttribute(PersonName.builder().familyName("Family").build()));
+    }
+
+    @Test
+    void shouldImplementObjectContracts() {
+        ObjectMethodsAsserts.assertNiceObject(token);
+    }
+
+}
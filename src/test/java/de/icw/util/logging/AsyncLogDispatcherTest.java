@@ -0,0 +1,248 @@
+package de.icw.util.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.icw.util.logging.AsyncLogDispatcher.OverflowPolicy;
+
+class AsyncLogDispatcherTest {
+
+    private static final int RECORD_COUNT = 20;
+
+    private Logger logger;
+
+    private RecordingHandler handler;
+
+    private AsyncLogDispatcher underTest;
+
+    @BeforeEach
+    void before() {
+        logger = new Logger(AsyncLogDispatcherTest.class);
+        handler = new RecordingHandler();
+        logger.getWrapped().setUseParentHandlers(false);
+        logger.getWrapped().addHandler(handler);
+        logger.setLevel(Level.ALL);
+    }
+
+    @AfterEach
+    void after() {
+        logger.setDispatcher(null);
+        logger.getWrapped().removeHandler(handler);
+        if (null != underTest) {
+            underTest.close();
+        }
+    }
+
+    @Test
+    void shouldPublishOnConsumerThread() {
+        underTest = AsyncLogDispatcher.builder().threadName("consumer").build();
+        logger.setDispatcher(underTest);
+        final RuntimeException throwable = new RuntimeException();
+
+        logger.info("plain");
+        logger.warn("failed", throwable);
+        logger.debug("some '{}' log {} formatted", 1, 2);
+        underTest.close();
+
+        assertEquals(3, handler.records.size());
+        assertEquals("plain", handler.records.get(0).getMessage());
+        assertEquals(throwable, handler.records.get(1).getThrown());
+        assertEquals("some '1' log 2 formatted", handler.records.get(2).getMessage());
+        assertEquals(Level.FINE, handler.records.get(2).getLevel());
+        assertEquals(AsyncLogDispatcherTest.class.getName(), handler.records.get(2).getLoggerName());
+        assertNull(handler.records.get(2).getSourceClassName());
+        assertEquals(Collections.singleton("consumer"), Collections.unmodifiableSet(handler.threads));
+        assertTrue(handler.flushed > 0);
+    }
+
+    @Test
+    void shouldSnapshotMutableParameter() {
+        underTest = AsyncLogDispatcher.builder().build();
+        logger.setDispatcher(underTest);
+        final StringBuilder mutable = new StringBuilder("before");
+
+        logger.info("value: {}", mutable);
+        mutable.append("-after");
+        underTest.close();
+
+        assertEquals("value: before", handler.records.get(0).getMessage());
+    }
+
+    @Test
+    void shouldDropLowestLevelOnOverflow() throws InterruptedException {
+        underTest = AsyncLogDispatcher.builder().capacity(2)
+                .overflowPolicy(OverflowPolicy.DROP_LOWEST_LEVEL).build();
+        logger.setDispatcher(underTest);
+        handler.blockFirstRecord();
+
+        for (int index = 0; index < RECORD_COUNT; index++) {
+            logger.debug("debug {}", index);
+        }
+        handler.release();
+        underTest.close();
+
+        assertTrue(underTest.getDroppedRecords() > 0);
+        assertEquals(RECORD_COUNT, handler.records.size() + underTest.getDroppedRecords());
+        assertEquals(0, underTest.getCallerRunsRecords());
+    }
+
+    @Test
+    void shouldRunOnCallerOnOverflow() throws InterruptedException {
+        underTest = AsyncLogDispatcher.builder().capacity(2)
+                .overflowPolicy(OverflowPolicy.CALLER_RUNS).build();
+        logger.setDispatcher(underTest);
+        handler.blockFirstRecord();
+
+        for (int index = 0; index < RECORD_COUNT; index++) {
+            logger.info("info {}", index);
+        }
+        handler.release();
+        underTest.close();
+
+        assertEquals(RECORD_COUNT, handler.records.size());
+        assertTrue(underTest.getCallerRunsRecords() > 0);
+        assertTrue(handler.threads.contains(Thread.currentThread().getName()));
+        assertEquals(0, underTest.getDroppedRecords());
+    }
+
+    @Test
+    void shouldBlockOnOverflow() throws InterruptedException {
+        underTest = AsyncLogDispatcher.builder().capacity(2).batchSize(1).build();
+        logger.setDispatcher(underTest);
+
+        for (int index = 0; index < RECORD_COUNT; index++) {
+            logger.error("error {}", index);
+        }
+        underTest.close();
+
+        assertEquals(RECORD_COUNT, handler.records.size());
+        for (int index = 0; index < RECORD_COUNT; index++) {
+            assertEquals("error " + index, handler.records.get(index).getMessage());
+        }
+        assertFalse(handler.threads.contains(Thread.currentThread().getName()));
+    }
+
+    @Test
+    void shouldPublishSynchronouslyAfterClose() {
+        underTest = AsyncLogDispatcher.builder().build();
+        logger.setDispatcher(underTest);
+        underTest.close();
+        assertFalse(underTest.isRunning());
+
+        logger.info("closed");
+
+        assertEquals(1, handler.records.size());
+        assertTrue(handler.threads.contains(Thread.currentThread().getName()));
+    }
+
+    @Test
+    void shouldNotLoseRecordsDispatchedWhileClosing() throws InterruptedException {
+        final int producers = 4;
+        final int recordsPerProducer = 2_000;
+        underTest = AsyncLogDispatcher.builder().capacity(64).build();
+        logger.setDispatcher(underTest);
+        final CountDownLatch started = new CountDownLatch(producers);
+        final List<Thread> threads = new ArrayList<>();
+        for (int producer = 0; producer < producers; producer++) {
+            final Thread thread = new Thread(() -> {
+                started.countDown();
+                for (int index = 0; index < recordsPerProducer; index++) {
+                    logger.info("record");
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        started.await();
+        underTest.close();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(producers * recordsPerProducer, handler.records.size());
+    }
+
+    @Test
+    void shouldUseDefaultDispatcher() {
+        underTest = AsyncLogDispatcher.builder().threadName("default-consumer").build();
+        Logger.setDefaultDispatcher(underTest);
+        try {
+            logger.info("default");
+        } finally {
+            Logger.setDefaultDispatcher(null);
+        }
+        underTest.close();
+
+        assertEquals(Collections.singleton("default-consumer"), handler.threads);
+    }
+
+    @Test
+    void shouldValidateBuilder() {
+        assertThrows(IllegalArgumentException.class, () -> AsyncLogDispatcher.builder().capacity(0));
+        assertThrows(IllegalArgumentException.class, () -> AsyncLogDispatcher.builder().batchSize(0));
+        assertThrows(NullPointerException.class, () -> AsyncLogDispatcher.builder().overflowPolicy(null));
+    }
+
+    static class RecordingHandler extends Handler {
+
+        final List<LogRecord> records = Collections.synchronizedList(new ArrayList<>());
+
+        final Set<String> threads = Collections.synchronizedSet(new HashSet<>());
+
+        volatile int flushed;
+
+        private volatile CountDownLatch block;
+
+        private volatile Thread caller;
+
+        void blockFirstRecord() {
+            caller = Thread.currentThread();
+            block = new CountDownLatch(1);
+        }
+
+        void release() {
+            block.countDown();
+        }
+
+        @Override
+        public void publish(LogRecord record) {
+            final CountDownLatch latch = block;
+            if (null != latch && records.isEmpty() && Thread.currentThread() != caller) {
+                try {
+                    latch.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            records.add(record);
+            threads.add(Thread.currentThread().getName());
+        }
+
+        @Override
+        public void flush() {
+            flushed++;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
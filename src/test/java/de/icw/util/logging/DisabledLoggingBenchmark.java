@@ -0,0 +1,101 @@
+package de.icw.util.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the cost of log-calls on a disabled level. {@link #main(String[])} verifies that the
+ * fixed-arity methods of {@link Logger} do not allocate: It fails if the normalized allocation rate
+ * reported by the {@link GCProfiler} exceeds {@link #ALLOCATION_THRESHOLD} bytes per operation or
+ * is missing. The benchmark profile of the build runs it, so {@code mvn -Pbenchmark verify} fails
+ * on allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DisabledLoggingBenchmark {
+
+    private static final String TEMPLATE = "Processing {} with {} and {}";
+
+    /** Tolerance for the measurement noise of the gc-profiler, in bytes per operation */
+    static final double ALLOCATION_THRESHOLD = 1.0;
+
+    private final Logger logger = new Logger(DisabledLoggingBenchmark.class);
+
+    private final Object first = "first";
+
+    private final Object second = "second";
+
+    private final Object third = "third";
+
+    @Setup
+    public void disableTrace() {
+        logger.setLevel(Level.INFO);
+    }
+
+    @Benchmark
+    public void oneParameter() {
+        logger.trace(TEMPLATE, first);
+    }
+
+    @Benchmark
+    public void twoParameter() {
+        logger.trace(TEMPLATE, first, second);
+    }
+
+    @Benchmark
+    public void threeParameter() {
+        logger.trace(TEMPLATE, first, second, third);
+    }
+
+    @Benchmark
+    public void varargsParameter() {
+        logger.trace(TEMPLATE, first, second, third, first);
+    }
+
+    /**
+     * Runs the fixed-arity benchmarks with the {@link GCProfiler} attached and checks the
+     * normalized allocation rate.
+     *
+     * @param args ignored
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(DisabledLoggingBenchmark.class.getSimpleName() + ".(one|two|three)Parameter")
+                .addProfiler(GCProfiler.class).build();
+        for (RunResult result : new Runner(options).run()) {
+            @SuppressWarnings("rawtypes")
+            Result allocation = result.getSecondaryResults().get("gc.alloc.rate.norm");
+            if (null == allocation) {
+                throw new IllegalStateException(result.getParams().getBenchmark()
+                        + " reports no allocation rate, the gc-profiler is not available");
+            }
+            if (allocation.getScore() > ALLOCATION_THRESHOLD) {
+                throw new IllegalStateException(result.getParams().getBenchmark() + " allocates "
+                        + allocation.getScore() + " bytes per operation on a disabled level");
+            }
+        }
+    }
+}
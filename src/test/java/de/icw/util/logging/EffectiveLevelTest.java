@@ -0,0 +1,85 @@
+package de.icw.util.logging;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+
+import org.junit.jupiter.api.Test;
+
+class EffectiveLevelTest {
+
+    private static final String PARENT_NAME = EffectiveLevelTest.class.getName() + ".parent";
+
+    private static final String CHILD_NAME = PARENT_NAME + ".child";
+
+    @Test
+    void shouldReflectLevelOfWrappedLogger() {
+        final java.util.logging.Logger wrapped = java.util.logging.Logger.getLogger(CHILD_NAME + ".wrapped");
+        wrapped.setLevel(Level.FINE);
+        final EffectiveLevel underTest = new EffectiveLevel(wrapped);
+
+        assertTrue(underTest.isEnabled(Level.FINE.intValue()));
+        assertTrue(underTest.isEnabled(Level.SEVERE.intValue()));
+        assertFalse(underTest.isEnabled(Level.FINEST.intValue()));
+    }
+
+    @Test
+    void shouldHandleOffLevel() {
+        final java.util.logging.Logger wrapped = java.util.logging.Logger.getLogger(CHILD_NAME + ".off");
+        wrapped.setLevel(Level.OFF);
+        final EffectiveLevel underTest = new EffectiveLevel(wrapped);
+
+        assertFalse(underTest.isEnabled(Level.SEVERE.intValue()));
+    }
+
+    @Test
+    void shouldDetectLevelSetOnWrappedLogger() {
+        final Logger logger = new Logger(CHILD_NAME + ".direct");
+        logger.setLevel(Level.INFO);
+        assertFalse(logger.isDebugEnabled());
+
+        logger.getWrapped().setLevel(Level.FINE);
+        assertTrue(logger.isDebugEnabled());
+
+        logger.getWrapped().setLevel(Level.INFO);
+        assertFalse(logger.isDebugEnabled());
+    }
+
+    @Test
+    void shouldDetectLevelSetOnWrappedParent() {
+        final java.util.logging.Logger parent = java.util.logging.Logger.getLogger(PARENT_NAME + ".direct");
+        final Logger child = new Logger(PARENT_NAME + ".direct.child");
+        child.getWrapped().setLevel(null);
+        parent.setLevel(Level.INFO);
+        assertFalse(child.isDebugEnabled());
+
+        parent.setLevel(Level.FINE);
+        assertTrue(child.isDebugEnabled());
+    }
+
+    @Test
+    void shouldInheritLevelOfParent() {
+        final Logger parent = new Logger(PARENT_NAME);
+        final Logger child = new Logger(CHILD_NAME);
+        child.setLevel(null);
+
+        parent.setLevel(Level.FINEST);
+        assertTrue(child.isTraceEnabled());
+
+        parent.setLevel(Level.WARNING);
+        assertFalse(child.isInfoEnabled());
+        assertTrue(child.isWarnEnabled());
+    }
+
+    @Test
+    void shouldDetectLevelSetByLoggingMXBean() {
+        final String name = CHILD_NAME + ".managed";
+        final Logger logger = new Logger(name);
+        assertFalse(logger.isTraceEnabled());
+
+        LogManager.getLoggingMXBean().setLoggerLevel(name, Level.FINEST.getName());
+        assertTrue(logger.isTraceEnabled());
+    }
+}
@@ -0,0 +1,171 @@
+package de.icw.util.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.junit.jupiter.api.Test;
+
+class JsonLinesFormatterTest {
+
+    private final JsonLinesFormatter underTest = new JsonLinesFormatter();
+
+    @Test
+    void shouldFormatPlainRecord() {
+        LogRecord record = createRecord("Order processed");
+
+        assertEquals("{\"time\":1546300800000,\"level\":\"INFO\",\"logger\":\"de.icw.Order\",\"thread\":7,"
+                + "\"message\":\"Order processed\"}\n", underTest.format(record));
+    }
+
+    @Test
+    void shouldWriteKeyValuePairs() {
+        LogRecord record = createRecord("m");
+        record.setParameters(new Object[] { new SimpleImmutableEntry<>("count", -42),
+            new SimpleImmutableEntry<>("ratio", 0.5d), new SimpleImmutableEntry<>("valid", true),
+            new SimpleImmutableEntry<>("name", "a\"b"), new SimpleImmutableEntry<>("missing", null),
+            new SimpleImmutableEntry<>("nan", Double.NaN), new SimpleImmutableEntry<>("big", new BigDecimal("1.25")),
+            new SimpleImmutableEntry<>("max", Long.MAX_VALUE), new SimpleImmutableEntry<>("min", Long.MIN_VALUE),
+            "ignored" });
+
+        assertTrue(underTest.format(record).endsWith("\"message\":\"m\",\"count\":-42,\"ratio\":0.5,\"valid\":true,"
+                + "\"name\":\"a\\\"b\",\"missing\":null,\"nan\":\"NaN\",\"big\":1.25,"
+                + "\"max\":9223372036854775807,\"min\":-9223372036854775808}\n"));
+    }
+
+    @Test
+    void shouldQuoteUnknownNumbers() {
+        LogRecord record = createRecord("m");
+        record.setParameters(new Object[] { new SimpleImmutableEntry<>("custom", new CustomNumber()),
+            new SimpleImmutableEntry<>("integer", BigInteger.TEN) });
+
+        assertTrue(underTest.format(record).endsWith("\"custom\":\"not a number\",\"integer\":10}\n"));
+    }
+
+    @Test
+    void shouldPrefixKeysOfFixedFields() {
+        LogRecord record = createRecord("m");
+        record.setParameters(new Object[] { new SimpleImmutableEntry<>("message", "a"),
+            new SimpleImmutableEntry<>("_message", "b"), new SimpleImmutableEntry<>("time", 1),
+            new SimpleImmutableEntry<>("_other", "c") });
+
+        assertTrue(underTest.format(record).endsWith("\"message\":\"m\",\"_message\":\"a\",\"__message\":\"b\","
+                + "\"_time\":1,\"_other\":\"c\"}\n"));
+    }
+
+    @Test
+    void shouldEscapeAndEncode() {
+        LogRecord record = createRecord("tab\tline\nquote\"back\\ctrl\u0001 ä€😀");
+        record.setLoggerName(null);
+
+        String formatted = underTest.format(record);
+
+        assertTrue(formatted.contains(
+                "\"message\":\"tab\\tline\\nquote\\\"back\\\\ctrl\\u0001 ä€😀\""));
+        assertTrue(!formatted.contains("\"logger\""));
+    }
+
+    @Test
+    void shouldWriteThrowable() {
+        LogRecord record = createRecord(null);
+        record.setThrown(new IllegalStateException("outer", new IllegalArgumentException("inner")));
+
+        String formatted = underTest.format(record);
+
+        assertTrue(formatted.contains("\"message\":null"));
+        assertTrue(formatted.contains("\"thrown\":\"java.lang.IllegalStateException: outer\\n\\tat "));
+        assertTrue(formatted.contains("\\nCaused by: java.lang.IllegalArgumentException: inner"));
+    }
+
+    @Test
+    void shouldWriteSameBytesAsFormat() throws IOException {
+        LogRecord record = createRecord("über");
+        record.setParameters(new Object[] { new SimpleImmutableEntry<>("key", "välue") });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        underTest.write(record, out);
+        underTest.write(record, out);
+
+        String expected = underTest.format(record);
+        assertEquals(expected + expected, new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldHandleReentrantCalls() {
+        Object logging = new Object() {
+
+            @Override
+            public String toString() {
+                return underTest.format(createRecord("nested")).trim();
+            }
+        };
+        LogRecord record = createRecord("outer");
+        record.setParameters(new Object[] { new SimpleImmutableEntry<>("value", logging) });
+
+        String formatted = underTest.format(record);
+
+        assertTrue(formatted.startsWith("{\"time\":1546300800000,\"level\":\"INFO\""), formatted);
+        assertTrue(formatted.contains("\"message\":\"outer\",\"value\":\"{\\\"time\\\""), formatted);
+        assertTrue(formatted.endsWith("\\\"message\\\":\\\"nested\\\"}\"}\n"), formatted);
+        assertEquals(formatted, underTest.format(record));
+    }
+
+    @Test
+    void shouldHandleLargeRecords() {
+        StringBuilder message = new StringBuilder();
+        for (int index = 0; index < 10_000; index++) {
+            message.append("äx");
+        }
+        LogRecord record = createRecord(message.toString());
+
+        assertTrue(underTest.format(record).contains(message));
+        assertTrue(underTest.format(createRecord("small")).contains("\"small\""));
+    }
+
+    /** A {@link Number} whose String representation is not a JSON number */
+    static class CustomNumber extends Number {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public int intValue() {
+            return 0;
+        }
+
+        @Override
+        public long longValue() {
+            return 0;
+        }
+
+        @Override
+        public float floatValue() {
+            return 0;
+        }
+
+        @Override
+        public double doubleValue() {
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return "not a number";
+        }
+    }
+
+    private static LogRecord createRecord(String message) {
+        LogRecord record = new LogRecord(Level.INFO, message);
+        record.setMillis(1546300800000L);
+        record.setLoggerName("de.icw.Order");
+        record.setThreadID(7);
+        return record;
+    }
+}
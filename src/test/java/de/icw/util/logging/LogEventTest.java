@@ -0,0 +1,157 @@
+package de.icw.util.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LogEventTest {
+
+    private Logger underTest;
+
+    private final List<LogRecord> records = new ArrayList<>();
+
+    private final Handler handler = new Handler() {
+
+        @Override
+        public void publish(LogRecord record) {
+            records.add(record);
+        }
+
+        @Override
+        public void flush() {
+            // NOOP
+        }
+
+        @Override
+        public void close() {
+            // NOOP
+        }
+    };
+
+    @BeforeEach
+    void before() {
+        underTest = new Logger(LogEventTest.class);
+        underTest.getWrapped().setUseParentHandlers(false);
+        underTest.getWrapped().addHandler(handler);
+        underTest.setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void after() {
+        underTest.getWrapped().removeHandler(handler);
+        underTest.setDispatcher(null);
+    }
+
+    @Test
+    void shouldPublishKeyValuePairs() {
+        underTest.atInfo().with("orderId", 4).with("customer", "Smith").log("Order {} processed", 4);
+
+        assertEquals(1, records.size());
+        LogRecord record = records.get(0);
+        assertEquals(Level.INFO, record.getLevel());
+        assertEquals("Order 4 processed", record.getMessage());
+        assertEquals(LogEventTest.class.getName(), record.getLoggerName());
+        Object[] parameters = record.getParameters();
+        assertEquals(2, parameters.length);
+        assertEntry("orderId", 4, parameters[0]);
+        assertEntry("customer", "Smith", parameters[1]);
+    }
+
+    @Test
+    void shouldHandleThrowableAndManyPairs() {
+        RuntimeException exception = new RuntimeException("boom");
+        LogEvent event = underTest.atError().withThrowable(exception);
+        for (int index = 0; index < 20; index++) {
+            event.with("key" + index, index);
+        }
+        event.log("failed");
+
+        LogRecord record = records.get(0);
+        assertSame(exception, record.getThrown());
+        assertEquals(20, record.getParameters().length);
+        assertEntry("key19", 19, record.getParameters()[19]);
+    }
+
+    @Test
+    void shouldPublishPlainMessageVerbatim() {
+        underTest.atInfo().with("key", "value").log("literal {} and {0}");
+
+        assertEquals("literal {} and {0}", records.get(0).getMessage());
+        assertEntry("key", "value", records.get(0).getParameters()[0]);
+    }
+
+    @Test
+    void shouldReuseEventWithoutLeakingState() {
+        LogEvent first = underTest.atWarn().with("first", 1).withThrowable(new IllegalStateException());
+        first.log("first");
+        LogEvent second = underTest.atWarn();
+        assertSame(first, second);
+        second.log("second {} {}", "a", "b");
+
+        assertEquals(2, records.size());
+        assertEquals("second a b", records.get(1).getMessage());
+        assertEquals(0, records.get(1).getParameters().length);
+        assertNull(records.get(1).getThrown());
+    }
+
+    @Test
+    void shouldSupportNestedEvents() {
+        LogEvent outer = underTest.atInfo();
+        LogEvent inner = underTest.atInfo();
+        assertTrue(outer != inner);
+        inner.with("inner", true).log("inner");
+        outer.with("outer", true).log("outer");
+
+        assertEquals("inner", records.get(0).getMessage());
+        assertEntry("outer", true, records.get(1).getParameters()[0]);
+    }
+
+    @Test
+    void shouldIgnoreDisabledLevel() {
+        LogEvent event = underTest.atDebug();
+        assertSame(event, underTest.atTrace());
+        event.with("key", new Object() {
+
+            @Override
+            public String toString() {
+                throw new AssertionError("Must not be called");
+            }
+        }).withThrowable(new RuntimeException()).log("ignored {}", 1, 2, 3);
+
+        assertTrue(records.isEmpty());
+    }
+
+    @Test
+    void shouldSnapshotValuesForAsyncDispatching() {
+        StringBuilder mutable = new StringBuilder("before");
+        try (AsyncLogDispatcher dispatcher = AsyncLogDispatcher.builder().build()) {
+            underTest.setDispatcher(dispatcher);
+            underTest.atInfo().with("value", mutable).with("number", 5L).log("async {}", mutable);
+            mutable.append("-after");
+        }
+
+        LogRecord record = records.get(0);
+        assertEquals("async before", record.getMessage());
+        assertEntry("value", "before", record.getParameters()[0]);
+        assertEntry("number", 5L, record.getParameters()[1]);
+    }
+
+    private static void assertEntry(String key, Object value, Object actual) {
+        assertTrue(actual instanceof Map.Entry, "Expected Map.Entry, but was " + actual);
+        Map.Entry<?, ?> entry = (Map.Entry<?, ?>) actual;
+        assertEquals(key, entry.getKey());
+        assertEquals(value, entry.getValue());
+    }
+}
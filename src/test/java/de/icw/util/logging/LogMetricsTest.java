@@ -0,0 +1,145 @@
+package de.icw.util.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.stream.Collectors;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LogMetricsTest {
+
+    private static final String NAME = "de.icw.util.logging.metrics";
+
+    private final Logger underTest = new Logger(NAME);
+
+    private final Handler handler = new Handler() {
+
+        @Override
+        public void publish(LogRecord record) {
+            // Forces rendering of deferred messages
+            record.getMessage();
+        }
+
+        @Override
+        public void flush() {
+            // NOOP
+        }
+
+        @Override
+        public void close() {
+            // NOOP
+        }
+    };
+
+    @BeforeEach
+    void before() {
+        underTest.getWrapped().setUseParentHandlers(false);
+        underTest.getWrapped().addHandler(handler);
+        underTest.setLevel(Level.FINE);
+        LogMetrics.reset();
+        LogMetrics.enable();
+    }
+
+    @AfterEach
+    void after() {
+        LogMetrics.disable();
+        LogMetrics.reset();
+        underTest.setDispatcher(null);
+        underTest.getWrapped().removeHandler(handler);
+    }
+
+    @Test
+    void shouldCountPerLevel() {
+        underTest.info("12345");
+        underTest.info("{}", "123");
+        underTest.rateLimited(10, 1, TimeUnit.SECONDS).error(new RuntimeException(), "1");
+        underTest.atDebug().with("key", 1).log("12");
+        underTest.trace("disabled");
+
+        List<LoggerMetrics> metrics = metrics();
+        assertEquals(3, metrics.size());
+        assertEquals("DEBUG", metrics.get(0).getLevel());
+        assertEquals(1, metrics.get(0).getRecords());
+        assertEquals(2, metrics.get(0).getRenderedCharacters());
+        assertEquals("INFO", metrics.get(1).getLevel());
+        assertEquals(2, metrics.get(1).getRecords());
+        assertEquals(8, metrics.get(1).getRenderedCharacters());
+        assertTrue(metrics.get(1).getHandlerNanos() >= 0);
+        assertEquals("ERROR", metrics.get(2).getLevel());
+        assertEquals(1, metrics.get(2).getRecords());
+    }
+
+    @Test
+    void shouldCountAsyncRecords() {
+        try (AsyncLogDispatcher dispatcher = AsyncLogDispatcher.builder().build()) {
+            underTest.setDispatcher(dispatcher);
+            underTest.warn("{}-{}", "a", "b");
+            underTest.warn("abc");
+        }
+
+        List<LoggerMetrics> metrics = metrics();
+        assertEquals(1, metrics.size());
+        assertEquals(2, metrics.get(0).getRecords());
+        assertEquals(6, metrics.get(0).getRenderedCharacters());
+    }
+
+    @Test
+    void shouldNotCountIfDisabledAndReset() {
+        LogMetrics.disable();
+        assertFalse(LogMetrics.isEnabled());
+        underTest.info("ignored");
+        assertTrue(metrics().isEmpty());
+
+        LogMetrics.enable();
+        underTest.info("counted");
+        assertEquals(1, metrics().size());
+        LogMetrics.reset();
+        assertTrue(metrics().isEmpty());
+    }
+
+    @Test
+    void shouldExposeMBean() throws Exception {
+        underTest.info("jmx");
+        LogMetrics.registerMBean();
+        LogMetrics.registerMBean();
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(LogMetrics.OBJECT_NAME);
+            assertEquals(Boolean.TRUE, server.getAttribute(name, "Enabled"));
+            CompositeData[] metrics = (CompositeData[]) server.getAttribute(name, "Metrics");
+            boolean found = false;
+            for (CompositeData data : metrics) {
+                if (NAME.equals(data.get("loggerName"))) {
+                    assertEquals(1L, data.get("records"));
+                    found = true;
+                }
+            }
+            assertTrue(found);
+            server.invoke(name, "reset", new Object[0], new String[0]);
+            assertTrue(metrics().isEmpty());
+        } finally {
+            LogMetrics.unregisterMBean();
+            LogMetrics.unregisterMBean();
+        }
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(new ObjectName(LogMetrics.OBJECT_NAME)));
+    }
+
+    private static List<LoggerMetrics> metrics() {
+        return LogMetrics.snapshot().stream().filter(metrics -> NAME.equals(metrics.getLoggerName()))
+                .collect(Collectors.toList());
+    }
+}
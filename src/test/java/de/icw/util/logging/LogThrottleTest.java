@@ -0,0 +1,116 @@
+package de.icw.util.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class LogThrottleTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000L);
+
+    @Test
+    void shouldLimitRate() {
+        LogThrottle underTest = LogThrottle.rateLimit(3, 3, TimeUnit.SECONDS, clock::get);
+
+        assertTrue(underTest.tryAcquire());
+        assertTrue(underTest.tryAcquire());
+        assertTrue(underTest.tryAcquire());
+        assertFalse(underTest.tryAcquire());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        assertFalse(underTest.tryAcquire());
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertTrue(underTest.tryAcquire());
+        assertFalse(underTest.tryAcquire());
+
+        // Refill is capped at the capacity
+        clock.addAndGet(TimeUnit.HOURS.toNanos(1));
+        for (int index = 0; index < 3; index++) {
+            assertTrue(underTest.tryAcquire());
+        }
+        assertFalse(underTest.tryAcquire());
+        assertEquals(4, underTest.getSuppressed());
+    }
+
+    @Test
+    void shouldNotExceedPermitsConcurrently() throws InterruptedException {
+        LogThrottle underTest = LogThrottle.rateLimit(1000, 1, TimeUnit.DAYS, clock::get);
+        AtomicInteger acquired = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int thread = 0; thread < 4; thread++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int index = 0; index < 1000; index++) {
+                    if (underTest.tryAcquire()) {
+                        acquired.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1000, acquired.get());
+        assertEquals(3000, underTest.getSuppressed());
+    }
+
+    @Test
+    void shouldSample() {
+        LogThrottle always = LogThrottle.sample(1, clock::get);
+        for (int index = 0; index < 100; index++) {
+            assertTrue(always.tryAcquire());
+        }
+
+        LogThrottle underTest = LogThrottle.sample(0.1, clock::get);
+        int passed = 0;
+        for (int index = 0; index < 10_000; index++) {
+            if (underTest.tryAcquire()) {
+                passed++;
+            }
+        }
+        assertTrue(passed > 700 && passed < 1300, "Unexpected number of sampled messages: " + passed);
+        assertEquals(10_000 - passed, underTest.getSuppressed());
+    }
+
+    @Test
+    void shouldReportSuppressedOncePerInterval() {
+        LogThrottle underTest = LogThrottle.rateLimit(1, 1, TimeUnit.DAYS, clock::get);
+        assertEquals(0, underTest.pollSuppressed());
+        underTest.tryAcquire();
+        underTest.tryAcquire();
+        underTest.tryAcquire();
+
+        assertEquals(2, underTest.pollSuppressed());
+        underTest.tryAcquire();
+        assertEquals(0, underTest.pollSuppressed());
+
+        clock.addAndGet(LogThrottle.SUMMARY_INTERVAL_NANOS);
+        assertEquals(1, underTest.pollSuppressed());
+        clock.addAndGet(LogThrottle.SUMMARY_INTERVAL_NANOS);
+        assertEquals(0, underTest.pollSuppressed());
+    }
+
+    @Test
+    void shouldFailOnInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> LogThrottle.rateLimit(0, 1, TimeUnit.SECONDS, clock::get));
+        assertThrows(IllegalArgumentException.class, () -> LogThrottle.rateLimit(1, 0, TimeUnit.SECONDS, clock::get));
+        assertThrows(IllegalArgumentException.class, () -> LogThrottle.sample(0, clock::get));
+        assertThrows(IllegalArgumentException.class, () -> LogThrottle.sample(1.5, clock::get));
+    }
+}
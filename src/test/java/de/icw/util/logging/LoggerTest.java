@@ -2,9 +2,16 @@ package de.icw.util.logging;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
@@ -142,6 +149,163 @@ class LoggerTest {
         handler.clearRecords();
     }
 
+    @Test
+    void shouldHandleFixedArityFormatting() {
+        underTest.trace("some '{}' log", 1);
+        handler.assertMessagePresent("some '1' log", Level.FINEST);
+        handler.clearRecords();
+
+        underTest.debug(SLF4J_TEMPLATE, 1, 2);
+        handler.assertMessagePresent(TEMPLATE_RESULT, Level.FINE);
+        handler.clearRecords();
+
+        underTest.info(SLF4J_TEMPLATE, 1, 2, 3);
+        handler.assertMessagePresent(TEMPLATE_RESULT + " [3]", Level.INFO);
+        handler.clearRecords();
+
+        underTest.warn("some '{}' log", 1);
+        handler.assertMessagePresent("some '1' log", Level.WARNING);
+        handler.clearRecords();
+
+        underTest.error(SLF4J_TEMPLATE, 1, 2, 3);
+        handler.assertMessagePresent(TEMPLATE_RESULT + " [3]", Level.SEVERE);
+        handler.clearRecords();
+    }
+
+    @Test
+    void shouldNotFormatOnDisabledLevel() {
+        underTest.getWrapped().setLevel(Level.INFO);
+        final Object failing = new Object() {
+
+            @Override
+            public String toString() {
+                throw new AssertionError("Must not be called on a disabled level");
+            }
+        };
+        underTest.trace(SLF4J_TEMPLATE, failing);
+        underTest.debug(SLF4J_TEMPLATE, failing, failing);
+        underTest.trace(SLF4J_TEMPLATE, failing, failing, failing);
+        assertTrue(handler.records.isEmpty());
+    }
+
+    @Test
+    void shouldHandleSuppliedMessages() {
+        underTest.trace(() -> TRACE);
+        handler.assertMessagePresent(TRACE, Level.FINEST);
+        handler.clearRecords();
+
+        underTest.debug(throwable, () -> DEBUG);
+        handler.assertMessagePresent(DEBUG, Level.FINE, throwable);
+        handler.clearRecords();
+
+        underTest.info(SLF4J_TEMPLATE, () -> new Object[] { 1, 2 });
+        handler.assertMessagePresent(TEMPLATE_RESULT, Level.INFO);
+        handler.clearRecords();
+
+        underTest.warn(() -> WARN);
+        handler.assertMessagePresent(WARN, Level.WARNING);
+        handler.clearRecords();
+
+        underTest.error(throwable, () -> ERROR);
+        handler.assertMessagePresent(ERROR, Level.SEVERE, throwable);
+        handler.clearRecords();
+    }
+
+    @Test
+    void shouldNotCallSupplierOnDisabledLevel() {
+        underTest.setLevel(Level.INFO);
+        underTest.trace(() -> fail("Must not be called on a disabled level"));
+        underTest.debug(throwable, () -> fail("Must not be called on a disabled level"));
+        underTest.debug(SLF4J_TEMPLATE, () -> fail("Must not be called on a disabled level"));
+        assertTrue(handler.records.isEmpty());
+    }
+
+    @Test
+    void shouldHandleThrowableWithTemplate() {
+        underTest.trace(throwable, SLF4J_TEMPLATE, 1, 2);
+        handler.assertMessagePresent(TEMPLATE_RESULT, Level.FINEST, throwable);
+        handler.clearRecords();
+
+        underTest.debug(throwable, SLF4J_TEMPLATE, 1, 2);
+        handler.assertMessagePresent(TEMPLATE_RESULT, Level.FINE, throwable);
+        handler.clearRecords();
+
+        underTest.info(throwable, SLF4J_TEMPLATE, 1, 2);
+        handler.assertMessagePresent(TEMPLATE_RESULT, Level.INFO, throwable);
+        handler.clearRecords();
+
+        underTest.warn(throwable, SLF4J_TEMPLATE, 1, 2);
+        handler.assertMessagePresent(TEMPLATE_RESULT, Level.WARNING, throwable);
+        handler.clearRecords();
+
+        underTest.error(throwable, SLF4J_TEMPLATE, 1, 2);
+        handler.assertMessagePresent(TEMPLATE_RESULT, Level.SEVERE, throwable);
+        handler.clearRecords();
+    }
+
+    @Test
+    void shouldRateLimitView() {
+        Logger limited = underTest.rateLimited(2, 1, TimeUnit.DAYS);
+        for (int index = 0; index < 5; index++) {
+            limited.warn(SLF4J_TEMPLATE, index, new Object() {
+
+                @Override
+                public String toString() {
+                    return "2";
+                }
+            });
+        }
+        limited.error(() -> fail("Must not be called for suppressed messages"));
+        limited.atError().with("key", 1).log(ERROR);
+
+        assertEquals(2, handler.records.size());
+        assertEquals("some '0' log 2 formatted", handler.records.get(0).getMessage());
+        assertEquals(5, limited.getSuppressedMessages());
+        assertTrue(limited.isWarnEnabled());
+
+        underTest.warn(WARN);
+        handler.assertMessagePresent(WARN, Level.WARNING);
+        assertEquals(0, underTest.getSuppressedMessages());
+    }
+
+    @Test
+    void shouldShareStateWithView() {
+        Logger sampled = underTest.sampled(1);
+        underTest.setLevel(Level.SEVERE);
+        assertFalse(sampled.isWarnEnabled());
+        sampled.error(ERROR);
+        handler.assertMessagePresent(ERROR, Level.SEVERE);
+        assertEquals(0, sampled.getSuppressedMessages());
+    }
+
+    @Test
+    void shouldCacheLoggers() {
+        Logger logger = Logger.forClass(LoggerTest.class);
+        assertSame(logger, Logger.forClass(LoggerTest.class));
+        assertSame(logger, Logger.forName(LoggerTest.class.getName()));
+        assertSame(java.util.logging.Logger.getLogger(LoggerTest.class.getName()), logger.getWrapped());
+        assertNotSame(logger, Logger.forName("de.icw.other"));
+        assertThrows(NullPointerException.class, () -> Logger.forClass(null));
+        assertThrows(NullPointerException.class, () -> Logger.forName(null));
+    }
+
+    @Test
+    void shouldListLoggerLevels() {
+        Logger logger = Logger.forName("de.icw.util.logging.registry");
+        logger.setLevel(Level.FINE);
+        Logger child = new Logger("de.icw.util.logging.registry.child");
+
+        SortedMap<String, Level> levels = Logger.getLoggerLevels();
+        assertEquals(Level.FINE, levels.get("de.icw.util.logging.registry"));
+        assertEquals(Level.FINE, levels.get("de.icw.util.logging.registry.child"));
+        assertEquals(Level.ALL, levels.get(Logger.class.getName()));
+
+        Logger.forName("de.icw.util.logging.registry").setLevel(Level.WARNING);
+        assertEquals(Level.WARNING, Logger.getLoggerLevels().get("de.icw.util.logging.registry.child"));
+        assertFalse(child.isInfoEnabled());
+        logger.setLevel(null);
+    }
+
     class LogHandler extends Handler {
 
         List<LogRecord> records = new ArrayList<>();
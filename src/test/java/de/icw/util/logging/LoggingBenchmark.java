@@ -0,0 +1,165 @@
+package de.icw.util.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares enabled log-calls of {@link Logger} with plain {@link java.util.logging.Logger} calls,
+ * from zero to five parameter, with a {@link Throwable} and with multiple threads publishing to a
+ * shared, synchronized {@link Handler}. The handler renders each message but writes nothing, so the
+ * results reflect the cost of the logging path itself. Run with the {@code benchmark} profile, see
+ * pom.xml, in order to get the allocation rates of the gc-profiler as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private static final String TEMPLATE = "Processing {} with {}, {}, {} and {}";
+
+    private static final String JUL_TEMPLATE = "Processing {0} with {1}, {2}, {3} and {4}";
+
+    private final Logger logger = new Logger(LoggingBenchmark.class);
+
+    private final java.util.logging.Logger julLogger = logger.getWrapped();
+
+    private final RenderingHandler handler = new RenderingHandler();
+
+    private final Object first = "first";
+
+    private final Object second = 2;
+
+    private final Object third = 3L;
+
+    private final Object fourth = Boolean.TRUE;
+
+    private final Object fifth = "fifth";
+
+    private final Throwable throwable = new IllegalStateException("benchmark");
+
+    @Setup
+    public void installHandler() {
+        julLogger.setUseParentHandlers(false);
+        julLogger.addHandler(handler);
+        logger.setLevel(Level.INFO);
+    }
+
+    @TearDown
+    public void removeHandler() {
+        julLogger.removeHandler(handler);
+        julLogger.setUseParentHandlers(true);
+    }
+
+    @Benchmark
+    public void julPlain() {
+        julLogger.info("Processing");
+    }
+
+    @Benchmark
+    public void julFiveParameter() {
+        julLogger.log(Level.INFO, JUL_TEMPLATE, new Object[] { first, second, third, fourth, fifth });
+    }
+
+    @Benchmark
+    public void julThrowable() {
+        julLogger.log(Level.INFO, "Processing failed", throwable);
+    }
+
+    @Benchmark
+    public void zeroParameter() {
+        logger.info("Processing");
+    }
+
+    @Benchmark
+    public void oneParameter() {
+        logger.info(TEMPLATE, first);
+    }
+
+    @Benchmark
+    public void twoParameter() {
+        logger.info(TEMPLATE, first, second);
+    }
+
+    @Benchmark
+    public void threeParameter() {
+        logger.info(TEMPLATE, first, second, third);
+    }
+
+    @Benchmark
+    public void fourParameter() {
+        logger.info(TEMPLATE, first, second, third, fourth);
+    }
+
+    @Benchmark
+    public void fiveParameter() {
+        logger.info(TEMPLATE, first, second, third, fourth, fifth);
+    }
+
+    @Benchmark
+    public void throwable() {
+        logger.info(throwable, TEMPLATE, first, second);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void contendedFiveParameter() {
+        logger.info(TEMPLATE, first, second, third, fourth, fifth);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void contendedJulFiveParameter() {
+        julLogger.log(Level.INFO, JUL_TEMPLATE, new Object[] { first, second, third, fourth, fifth });
+    }
+
+    /**
+     * Renders the message like a formatter would and synchronizes like
+     * {@link java.util.logging.StreamHandler} does.
+     */
+    static final class RenderingHandler extends Handler {
+
+        private final java.util.logging.Formatter formatter = new java.util.logging.Formatter() {
+
+            @Override
+            public String format(LogRecord record) {
+                return formatMessage(record);
+            }
+        };
+
+        /** Prevents the rendering from being optimized away */
+        private long renderedCharacters;
+
+        @Override
+        public synchronized void publish(LogRecord record) {
+            renderedCharacters += formatter.format(record).length();
+        }
+
+        @Override
+        public void flush() {
+            // NOOP
+        }
+
+        @Override
+        public void close() {
+            // NOOP
+        }
+    }
+}
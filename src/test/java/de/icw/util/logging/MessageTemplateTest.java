@@ -0,0 +1,98 @@
+package de.icw.util.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.base.Strings;
+
+class MessageTemplateTest {
+
+    private static final String SLF4J_TEMPLATE = "some '{}' log {} formatted";
+    private static final String STRING_TEMPLATE = "some '%s' log %s formatted";
+
+    @Test
+    void shouldFormatLikeLenientFormat() {
+        assertLenientFormat(SLF4J_TEMPLATE, 1, 2);
+        assertLenientFormat(STRING_TEMPLATE, 1, 2);
+        assertLenientFormat("mixed {} and %s", "a", "b");
+        assertLenientFormat("{}{}{}", "a", "b", "c");
+        assertLenientFormat("no placeholder");
+        assertLenientFormat("no placeholder", "surplus");
+        assertLenientFormat("");
+        assertLenientFormat("", 1, 2);
+        assertLenientFormat("%{}s", 1);
+    }
+
+    @Test
+    void shouldHandleMissingParameter() {
+        assertLenientFormat(SLF4J_TEMPLATE);
+        assertLenientFormat(SLF4J_TEMPLATE, 1);
+        assertEquals("some '1' log %s formatted", MessageTemplate.format(SLF4J_TEMPLATE, 1));
+    }
+
+    @Test
+    void shouldHandleSurplusParameter() {
+        assertLenientFormat(SLF4J_TEMPLATE, 1, 2, 3);
+        assertLenientFormat(SLF4J_TEMPLATE, 1, 2, 3, 4);
+        assertEquals("some '1' log 2 formatted [3, 4]", MessageTemplate.format(SLF4J_TEMPLATE, 1, 2, 3, 4));
+    }
+
+    @Test
+    void shouldHandleNullValues() {
+        assertLenientFormat(SLF4J_TEMPLATE, null, null);
+        assertLenientFormat(SLF4J_TEMPLATE, (Object[]) null);
+        assertEquals("", MessageTemplate.format(null));
+        assertEquals(" [null]", MessageTemplate.format(null, (Object) null));
+    }
+
+    @Test
+    void shouldHandleFailingToString() {
+        final Object failing = new Object() {
+
+            @Override
+            public String toString() {
+                throw new IllegalStateException("boom");
+            }
+        };
+        assertLenientFormat(SLF4J_TEMPLATE, failing, 2);
+        assertLenientFormat(SLF4J_TEMPLATE, 1, 2, failing);
+    }
+
+    @Test
+    void shouldHandleReentrantFormatting() {
+        final Object nested = new Object() {
+
+            @Override
+            public String toString() {
+                return MessageTemplate.format("nested {}", "value");
+            }
+        };
+        assertEquals("some 'nested value' log 2 formatted", MessageTemplate.format(SLF4J_TEMPLATE, nested, 2));
+    }
+
+    @Test
+    void shouldCacheCompiledTemplates() {
+        assertSame(MessageTemplate.of(SLF4J_TEMPLATE), MessageTemplate.of(SLF4J_TEMPLATE));
+        assertEquals(2, MessageTemplate.of(SLF4J_TEMPLATE).getPlaceholderCount());
+        assertEquals(0, MessageTemplate.of("plain").getPlaceholderCount());
+        assertNotSame(MessageTemplate.of("plain"), MessageTemplate.of("plain"));
+    }
+
+    @Test
+    void shouldCacheLateTemplatesOnceFull() {
+        for (int index = 0; index < 2 * MessageTemplate.MAX_CACHED_TEMPLATES; index++) {
+            MessageTemplate.of("dynamic " + index + " {}");
+        }
+        final String late = "late {} template";
+        assertSame(MessageTemplate.of(late), MessageTemplate.of(late));
+    }
+
+    private static void assertLenientFormat(String template, Object... parameter) {
+        final String replaced = template.replace("{}", "%s");
+        final Object[] copy = null == parameter ? null : parameter.clone();
+        assertEquals(Strings.lenientFormat(replaced, copy), MessageTemplate.format(template, parameter));
+    }
+}
@@ -0,0 +1,72 @@
+package de.icw.util.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.junit.jupiter.api.Test;
+
+class RecordRingBufferTest {
+
+    private final java.util.logging.Logger logger =
+        java.util.logging.Logger.getLogger(RecordRingBufferTest.class.getName());
+
+    @Test
+    void shouldRejectInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new RecordRingBuffer(0));
+        assertThrows(IllegalArgumentException.class, () -> new RecordRingBuffer(3));
+    }
+
+    @Test
+    void shouldKeepOrderAndBounds() {
+        final RecordRingBuffer underTest = new RecordRingBuffer(4);
+        assertTrue(underTest.isEmpty());
+        for (int index = 0; index < 4; index++) {
+            assertTrue(underTest.offer(logger, new LogRecord(Level.INFO, String.valueOf(index))));
+        }
+        assertFalse(underTest.offer(logger, new LogRecord(Level.INFO, "overflow")));
+
+        final List<String> drained = new ArrayList<>();
+        assertEquals(3, underTest.drainTo((l, r) -> drained.add(r.getMessage()), 3));
+        assertTrue(underTest.offer(logger, new LogRecord(Level.INFO, "4")));
+        assertEquals(2, underTest.drainTo((l, r) -> drained.add(r.getMessage()), 10));
+
+        assertEquals(Arrays.asList("0", "1", "2", "3", "4"), drained);
+        assertTrue(underTest.isEmpty());
+    }
+
+    @Test
+    void shouldHandleConcurrentProducers() throws InterruptedException {
+        final int producers = 4;
+        final int recordsPerProducer = 10_000;
+        final RecordRingBuffer underTest = new RecordRingBuffer(64);
+        final ExecutorService executor = Executors.newFixedThreadPool(producers);
+        for (int producer = 0; producer < producers; producer++) {
+            executor.execute(() -> {
+                for (int index = 0; index < recordsPerProducer; index++) {
+                    final LogRecord record = new LogRecord(Level.INFO, "message");
+                    while (!underTest.offer(logger, record)) {
+                        Thread.yield();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        int received = 0;
+        while (received < producers * recordsPerProducer) {
+            received += underTest.drainTo((l, r) -> assertEquals(logger, l), 16);
+        }
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(underTest.isEmpty());
+    }
+}